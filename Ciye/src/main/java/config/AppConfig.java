@@ -54,6 +54,55 @@ public class AppConfig {
         return Boolean.parseBoolean(properties.getProperty("app.no.reset"));
     }
 
+    /**
+     * Get the reset policy of tests without an @AppReset annotation (blank derives it from app.no.reset)
+     */
+    public static String getResetPolicy() {
+        return properties.getProperty("app.reset.policy", "");
+    }
+
+    /**
+     * Get the APK installed by the REINSTALL reset policy
+     */
+    public static String getApkPath() {
+        return properties.getProperty("app.apk.path", "");
+    }
+
+    /**
+     * Check if @LoggedInAs tests restore a captured login instead of logging in through the UI
+     */
+    public static boolean isAuthSnapshotEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("auth.snapshot.enabled", "true"));
+    }
+
+    /**
+     * Get the directory captured login snapshots are kept in
+     */
+    public static String getAuthSnapshotDir() {
+        return properties.getProperty("auth.snapshot.dir", "target/auth-snapshots");
+    }
+
+    /**
+     * Check if the Navigator may open screens through configured deep links or activities
+     */
+    public static boolean isNavigationShortcutEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("nav.shortcut.enabled", "true"));
+    }
+
+    /**
+     * Get the deep link URI that opens a screen, or blank when the app has none
+     */
+    public static String getNavigationDeepLink(String screen) {
+        return properties.getProperty("nav.deeplink." + screen, "");
+    }
+
+    /**
+     * Get the package/activity component that opens a screen, or blank when the app has none
+     */
+    public static String getNavigationActivity(String screen) {
+        return properties.getProperty("nav.activity." + screen, "");
+    }
+
     /**
      * Get auto grant permissions flag
      */
@@ -75,6 +124,188 @@ public class AppConfig {
         return Integer.parseInt(properties.getProperty("implicit.wait"));
     }
 
+    /**
+     * Get adaptive wait enabled flag (learned polling and timeout ceiling instead of fixed 500 ms polling)
+     */
+    public static boolean isAdaptiveWaitEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("wait.adaptive.enabled", "true"));
+    }
+
+    /**
+     * Get the file wait latency histograms are kept in between runs
+     */
+    public static String getAdaptiveWaitStatsFile() {
+        return properties.getProperty("wait.adaptive.stats.file", ".ciye/wait-latency.json");
+    }
+
+    /**
+     * Get polling interval used while a condition usually turns true
+     */
+    public static long getAdaptiveWaitMinPollMs() {
+        return Long.parseLong(properties.getProperty("wait.adaptive.min.poll.ms", "25"));
+    }
+
+    /**
+     * Get polling interval the backoff stops at
+     */
+    public static long getAdaptiveWaitMaxPollMs() {
+        return Long.parseLong(properties.getProperty("wait.adaptive.max.poll.ms", "500"));
+    }
+
+    /**
+     * Get number of samples a locator needs before its timeout is capped
+     */
+    public static int getAdaptiveWaitMinSamples() {
+        return Integer.parseInt(properties.getProperty("wait.adaptive.min.samples", "5"));
+    }
+
+    /**
+     * Get multiple of the slowest seen latency a locator's timeout is capped at
+     */
+    public static long getAdaptiveWaitCeilingFactor() {
+        return Long.parseLong(properties.getProperty("wait.adaptive.ceiling.factor", "4"));
+    }
+
+    /**
+     * Get lowest timeout ceiling, in ms
+     */
+    public static long getAdaptiveWaitCeilingMinMs() {
+        return Long.parseLong(properties.getProperty("wait.adaptive.ceiling.min.ms", "5000"));
+    }
+
+    /**
+     * Get longest time a screen transition without a readiness anchor may take to settle (the legacy fixed sleep)
+     */
+    public static long getPageSettleMaxMs() {
+        return Long.parseLong(properties.getProperty("page.settle.max.ms", "2000"));
+    }
+
+    /**
+     * Get interval between screen readiness probes
+     */
+    public static long getPageReadyPollMs() {
+        return Long.parseLong(properties.getProperty("page.ready.poll.ms", "100"));
+    }
+
+    /**
+     * Get maximum age of a page source snapshot reused for read-only checks
+     */
+    public static long getSnapshotMaxAgeMs() {
+        return Long.parseLong(properties.getProperty("snapshot.max.age.ms", "1000"));
+    }
+
+    /**
+     * Get element cache enabled flag (element handles reused on the same screen)
+     */
+    public static boolean isElementCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("element.cache.enabled", "true"));
+    }
+
+    /**
+     * Get locator optimizer enabled flag (page XPath locators rewritten into native lookups on first use)
+     */
+    public static boolean isLocatorOptimizerEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("locator.optimizer.enabled", "true"));
+    }
+
+    /**
+     * Get directory the per-run time accounting reports are written to
+     */
+    public static String getTimeAccountingDir() {
+        return properties.getProperty("time.accounting.dir", "target/time-accounting");
+    }
+
+    /**
+     * Get file the per-device scroll extents of screens are kept in between runs
+     */
+    public static String getScrollExtentsFile() {
+        return properties.getProperty("scroll.extents.file", ".ciye/scroll-extents.json");
+    }
+
+    /**
+     * Get maximum number of drags a scroll to an element may take before it fails
+     */
+    public static int getScrollMaxDrags() {
+        return Integer.parseInt(properties.getProperty("scroll.max.drags", "15"));
+    }
+
+    /**
+     * Get file the picker wheel calibrations per device profile are kept in between runs
+     */
+    public static String getWheelCalibrationFile() {
+        return properties.getProperty("wheel.calibration.file", ".ciye/wheel-calibration.json");
+    }
+
+    /**
+     * Get screenshot pipeline enabled flag (decode and write screenshots off the test thread)
+     */
+    public static boolean isScreenshotAsyncEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("screenshot.async.enabled", "true"));
+    }
+
+    /**
+     * Get number of background threads writing screenshots
+     */
+    public static int getScreenshotAsyncThreads() {
+        return Integer.parseInt(properties.getProperty("screenshot.async.threads", "2"));
+    }
+
+    /**
+     * Get number of screenshots that may wait for a writer before the test thread writes them itself
+     */
+    public static int getScreenshotAsyncQueueSize() {
+        return Integer.parseInt(properties.getProperty("screenshot.async.queue.size", "8"));
+    }
+
+    /**
+     * Get time (ms) a test waits at its end for its screenshots to be written
+     */
+    public static long getScreenshotFlushTimeoutMs() {
+        return Long.parseLong(properties.getProperty("screenshot.flush.timeout.ms", "10000"));
+    }
+
+    /**
+     * Get number of timed lookups per locator in the locator benchmark
+     */
+    public static int getBenchmarkIterations() {
+        return Integer.parseInt(properties.getProperty("benchmark.iterations", "20"));
+    }
+
+    /**
+     * Get number of untimed lookups per locator before the locator benchmark times it
+     */
+    public static int getBenchmarkWarmup() {
+        return Integer.parseInt(properties.getProperty("benchmark.warmup", "3"));
+    }
+
+    /**
+     * Get directory the locator benchmark records page sources to and replays them from
+     */
+    public static String getBenchmarkHierarchiesDir() {
+        return properties.getProperty("benchmark.hierarchies.dir", "src/test/resources/hierarchies");
+    }
+
+    /**
+     * Get directory the locator benchmark reports are written to
+     */
+    public static String getBenchmarkReportDir() {
+        return properties.getProperty("benchmark.report.dir", "target/locator-benchmark");
+    }
+
+    /**
+     * Get locator benchmark report later runs are compared against
+     */
+    public static String getBenchmarkBaselineFile() {
+        return properties.getProperty("benchmark.baseline.file", "src/test/resources/locator-benchmark-baseline.json");
+    }
+
+    /**
+     * Get factor by which a locator's p95 latency must grow over the baseline to count as a regression
+     */
+    public static double getBenchmarkRegressionFactor() {
+        return Double.parseDouble(properties.getProperty("benchmark.regression.factor", "1.5"));
+    }
+
     /**
      * Get test environment
      */
@@ -11,6 +11,13 @@ import io.appium.java_client.android.options.UiAutomator2Options;
 public class DeviceCapabilityFactory {
 
     public static UiAutomator2Options createCapabilities(String deviceId) {
+        return createCapabilities(deviceId, null);
+    }
+
+    /**
+     * Create capabilities with session-specific host ports, so several sessions can run on one Appium server
+     */
+    public static UiAutomator2Options createCapabilities(String deviceId, PortAllocator.SessionPorts ports) {
         VirtualDeviceConfig.DeviceInfo device = VirtualDeviceConfig.getDeviceInfo(deviceId);
 
         if (device == null) {
@@ -39,6 +46,13 @@ public class DeviceCapabilityFactory {
         options.setCapability("appium:uiautomator2ServerInstallTimeout", 60000);
         options.setCapability("appium:adbExecTimeout", 20000);
 
+        // Session ports (default ports collide when sessions share an Appium server)
+        if (ports != null) {
+            options.setSystemPort(ports.systemPort);
+            options.setMjpegServerPort(ports.mjpegServerPort);
+            options.setChromedriverPort(ports.chromedriverPort);
+        }
+
         // Device-specific optimizations
         options.setCapability("appium:ignoreHiddenApiPolicyError", true);
         options.setCapability("appium:disableIdLocatorAutocompletion", true);
@@ -68,10 +68,177 @@ public class DeviceConfig {
         return properties.getProperty("device.udid");
     }
 
+    /**
+     * Get the adb binary used for device-side commands
+     */
+    public static String getAdbPath() {
+        return properties.getProperty("adb.path", "adb");
+    }
+
+    /**
+     * Check if @Checkpoint tests load emulator snapshots instead of rebuilding their precondition
+     */
+    public static boolean isCheckpointEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("checkpoint.enabled", "true"));
+    }
+
+    /**
+     * Get the file the checkpoint index is kept in between runs
+     */
+    public static String getCheckpointIndexFile() {
+        return properties.getProperty("checkpoint.index.file", ".ciye/checkpoints.json");
+    }
+
+    /**
+     * Get the directory holding the AVD folders, used to measure snapshot sizes
+     */
+    public static String getCheckpointAvdHome() {
+        String defaultHome = System.getenv("ANDROID_AVD_HOME") != null
+                ? System.getenv("ANDROID_AVD_HOME")
+                : System.getProperty("user.home") + "/.android/avd";
+        return properties.getProperty("checkpoint.avd.home", defaultHome);
+    }
+
+    /**
+     * Get the disk space in MB checkpoints may use before the least recently used ones are deleted
+     */
+    public static long getCheckpointMaxDiskMb() {
+        return Long.parseLong(properties.getProperty("checkpoint.max.disk.mb", "8192"));
+    }
+
     /**
      * Get Appium server URL
      */
     public static String getAppiumServerURL() {
         return properties.getProperty("appium.server.url");
     }
+
+    /**
+     * Check if Appium sessions are pooled and reused across tests
+     */
+    public static boolean isSessionPoolEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("session.pool.enabled", "true"));
+    }
+
+    /**
+     * Get the number of tests a pooled session may serve before it is recycled
+     */
+    public static int getSessionPoolMaxReuse() {
+        return Integer.parseInt(properties.getProperty("session.pool.max.reuse", "50"));
+    }
+
+    /**
+     * Check if replacement sessions are created in the background before the next test needs them
+     */
+    public static boolean isSessionPrecreateEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("session.precreate.enabled", "true"));
+    }
+
+    /**
+     * Check if tests lease devices from the VirtualDeviceConfig fleet
+     * (false drives the single device configured above)
+     */
+    public static boolean isDeviceLeasingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("device.lease.enabled", "true"));
+    }
+
+    /**
+     * Get how long a test waits for a free device before failing (in seconds)
+     */
+    public static int getDeviceLeaseTimeout() {
+        return Integer.parseInt(properties.getProperty("device.lease.timeout", "600"));
+    }
+
+    /**
+     * Get the host port range for UiAutomator2 systemPort allocation
+     */
+    public static int[] getSystemPortRange() {
+        return parsePortRange(properties.getProperty("ports.system.range", "8200-8299"));
+    }
+
+    /**
+     * Get the host port range for mjpegServerPort allocation
+     */
+    public static int[] getMjpegServerPortRange() {
+        return parsePortRange(properties.getProperty("ports.mjpeg.range", "9200-9299"));
+    }
+
+    /**
+     * Get the host port range for chromedriverPort allocation
+     */
+    public static int[] getChromedriverPortRange() {
+        return parsePortRange(properties.getProperty("ports.chromedriver.range", "9515-9614"));
+    }
+
+    /**
+     * Parse a "from-to" port range
+     */
+    private static int[] parsePortRange(String range) {
+        String[] bounds = range.trim().split("-");
+        return new int[]{Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim())};
+    }
+
+    /**
+     * Check if the framework starts and supervises its own Appium servers
+     */
+    public static boolean isAppiumServerManaged() {
+        return Boolean.parseBoolean(properties.getProperty("appium.server.managed", "true"));
+    }
+
+    /**
+     * Get the command that launches an Appium server
+     */
+    public static String getAppiumServerCommand() {
+        return properties.getProperty("appium.server.command", "appium");
+    }
+
+    /**
+     * Get extra arguments passed to every managed Appium server
+     */
+    public static String getAppiumServerArgs() {
+        return properties.getProperty("appium.server.args", "");
+    }
+
+    /**
+     * Get the directory managed Appium servers log to
+     */
+    public static String getAppiumServerLogDir() {
+        return properties.getProperty("appium.server.log.dir", "target/appium-logs");
+    }
+
+    /**
+     * Get how long a managed Appium server may take to answer /status (in seconds)
+     */
+    public static int getAppiumServerStartTimeout() {
+        return Integer.parseInt(properties.getProperty("appium.server.start.timeout", "60"));
+    }
+
+    /**
+     * Get the interval between /status health checks (in seconds)
+     */
+    public static int getAppiumServerHealthInterval() {
+        return Integer.parseInt(properties.getProperty("appium.server.health.interval", "10"));
+    }
+
+    /**
+     * Get the number of failed health checks in a row that triggers a restart
+     */
+    public static int getAppiumServerMaxHealthFailures() {
+        return Integer.parseInt(properties.getProperty("appium.server.health.max.failures", "2"));
+    }
+
+    /**
+     * Get how often a managed Appium server is restarted before it is taken out of rotation
+     */
+    public static int getAppiumServerMaxRestarts() {
+        return Integer.parseInt(properties.getProperty("appium.server.max.restarts", "3"));
+    }
+
+    /**
+     * Get the Appium server port explicitly mapped to a device, or null to use the device's appiumPort
+     */
+    public static Integer getAppiumServerPortFor(String deviceId) {
+        String port = properties.getProperty("appium.server.for." + deviceId);
+        return port != null ? Integer.valueOf(port.trim()) : null;
+    }
 }
\ No newline at end of file
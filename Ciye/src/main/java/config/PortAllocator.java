@@ -0,0 +1,115 @@
+package config;
+
+import utils.LogUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Port Allocator
+ * Hands out non-conflicting host ports for the UiAutomator2 systemPort, mjpegServerPort and
+ * chromedriverPort of every session, so many concurrent sessions can share one Appium server
+ *
+ * @author Ciye Test Team
+ */
+public class PortAllocator {
+
+    /**
+     * The host ports reserved for one driver session
+     */
+    public static class SessionPorts {
+        public final String deviceId;
+        public final int systemPort;
+        public final int mjpegServerPort;
+        public final int chromedriverPort;
+
+        SessionPorts(String deviceId, int systemPort, int mjpegServerPort, int chromedriverPort) {
+            this.deviceId = deviceId;
+            this.systemPort = systemPort;
+            this.mjpegServerPort = mjpegServerPort;
+            this.chromedriverPort = chromedriverPort;
+        }
+
+        @Override
+        public String toString() {
+            return "systemPort=" + systemPort + ", mjpegServerPort=" + mjpegServerPort +
+                    ", chromedriverPort=" + chromedriverPort;
+        }
+    }
+
+    private static final Set<Integer> reservedPorts = new HashSet<>();
+
+    /**
+     * Reserve a free systemPort, mjpegServerPort and chromedriverPort for a new session on the device.
+     * The device's preferred systemPort is used when it is free.
+     */
+    public static synchronized SessionPorts allocate(String deviceId) {
+        VirtualDeviceConfig.DeviceInfo device = VirtualDeviceConfig.getDeviceInfo(deviceId);
+        Integer preferredSystemPort = device != null && device.systemPort != null
+                ? Integer.valueOf(device.systemPort) : null;
+
+        int systemPort = reserve(preferredSystemPort, DeviceConfig.getSystemPortRange());
+        int mjpegServerPort;
+        int chromedriverPort;
+        try {
+            mjpegServerPort = reserve(null, DeviceConfig.getMjpegServerPortRange());
+            try {
+                chromedriverPort = reserve(null, DeviceConfig.getChromedriverPortRange());
+            } catch (RuntimeException e) {
+                reservedPorts.remove(mjpegServerPort);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            reservedPorts.remove(systemPort);
+            throw e;
+        }
+
+        SessionPorts ports = new SessionPorts(deviceId, systemPort, mjpegServerPort, chromedriverPort);
+        LogUtils.info("Allocated ports for device " + deviceId + ": " + ports);
+        return ports;
+    }
+
+    /**
+     * Recycle the ports of a session that has been quit
+     */
+    public static synchronized void release(SessionPorts ports) {
+        if (ports == null) {
+            return;
+        }
+        reservedPorts.remove(ports.systemPort);
+        reservedPorts.remove(ports.mjpegServerPort);
+        reservedPorts.remove(ports.chromedriverPort);
+        LogUtils.info("Released ports for device " + ports.deviceId + ": " + ports);
+    }
+
+    private static int reserve(Integer preferredPort, int[] range) {
+        if (preferredPort != null && !reservedPorts.contains(preferredPort) && isFree(preferredPort)) {
+            reservedPorts.add(preferredPort);
+            return preferredPort;
+        }
+        for (int port = range[0]; port <= range[1]; port++) {
+            if (!reservedPorts.contains(port) && isFree(port)) {
+                reservedPorts.add(port);
+                return port;
+            }
+        }
+        throw new RuntimeException("No free port left in range " + range[0] + "-" + range[1]);
+    }
+
+    /**
+     * A port is free when nothing on the host (adb forwards, stale chromedrivers) is bound to it
+     */
+    private static boolean isFree(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(false);
+            socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class VirtualDeviceConfig {
         public String deviceName;
         public String platformVersion;
         public String avdName;
+        public String appiumPort;
         public String systemPort;
         public String udid;
         public String model;
@@ -23,11 +24,12 @@ public class VirtualDeviceConfig {
         public String resolution;
 
         public DeviceInfo(String deviceName, String platformVersion, String avdName,
-                          String systemPort, String udid, String model, String manufacturer,
+                          String appiumPort, String systemPort, String udid, String model, String manufacturer,
                           String density, String resolution) {
             this.deviceName = deviceName;
             this.platformVersion = platformVersion;
             this.avdName = avdName;
+            this.appiumPort = appiumPort;
             this.systemPort = systemPort;
             this.udid = udid;
             this.model = model;
@@ -46,6 +48,7 @@ public class VirtualDeviceConfig {
                 "16",
                 "Pixel7Pro",
                 "4723",
+                "8200",
                 "emulator-5554",
                 "sdk_gphone64_x86_64",
                 "Google",
@@ -65,7 +68,7 @@ public class VirtualDeviceConfig {
     public static String getAppiumServerUrl(String deviceId) {
         DeviceInfo device = getDeviceInfo(deviceId);
         // For Appium 2.x, use root endpoint
-        return "http://127.0.0.1:" + device.systemPort + "/";
+        return "http://127.0.0.1:" + device.appiumPort + "/";
     }
 
     public static void addDevice(String deviceId, DeviceInfo deviceInfo) {
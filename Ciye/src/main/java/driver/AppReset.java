@@ -0,0 +1,26 @@
+package driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * App Reset
+ * Declares the cheapest reset a test class or method needs, assuming the app data is clean.
+ * When an earlier test on the device left its data dirty, RELAUNCH is escalated to CLEAR_DATA.
+ * A method annotation overrides the class annotation; unannotated tests use app.reset.policy.
+ *
+ * @author Ciye Test Team
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface AppReset {
+
+    AppResetPolicy value();
+
+    /**
+     * Whether the test changes app data (logs in, edits the profile), so the next test may need it wiped
+     */
+    boolean mutatesData() default true;
+}
@@ -0,0 +1,157 @@
+package driver;
+
+import config.AppConfig;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.appmanagement.AndroidInstallApplicationOptions;
+import utils.LogUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App Reset Engine
+ * Picks the cheapest reset that satisfies a test's declared precondition and applies it to a session,
+ * keeping count of how often and how long each policy ran
+ *
+ * @author Ciye Test Team
+ */
+public final class AppResetEngine {
+
+    private static final Map<AppResetPolicy, AtomicLong> resetCounts = new EnumMap<>(AppResetPolicy.class);
+    private static final Map<AppResetPolicy, AtomicLong> resetTimesMs = new EnumMap<>(AppResetPolicy.class);
+
+    static {
+        for (AppResetPolicy policy : AppResetPolicy.values()) {
+            resetCounts.put(policy, new AtomicLong());
+            resetTimesMs.put(policy, new AtomicLong());
+        }
+    }
+
+    private AppResetEngine() {}
+
+    /**
+     * Get the policy of unannotated tests: app.reset.policy, or the policy matching app.no.reset
+     */
+    public static AppResetPolicy getDefaultPolicy() {
+        String configured = AppConfig.getResetPolicy();
+        if (configured != null && !configured.isBlank()) {
+            return AppResetPolicy.valueOf(configured.trim().toUpperCase());
+        }
+        return AppConfig.getNoReset() ? AppResetPolicy.RELAUNCH : AppResetPolicy.CLEAR_DATA;
+    }
+
+    /**
+     * Resolve the reset a test needs on a device whose app data may have been dirtied by the previous test
+     *
+     * @param reset the test's annotation, or null for the default policy
+     */
+    public static AppResetPolicy resolve(AppReset reset, boolean dataDirty) {
+        if (reset == null) {
+            return getDefaultPolicy();
+        }
+        // NONE takes the app as it is, so there is nothing to escalate
+        if (dataDirty && reset.value() != AppResetPolicy.NONE && !reset.value().covers(AppResetPolicy.CLEAR_DATA)) {
+            return AppResetPolicy.CLEAR_DATA;
+        }
+        return reset.value();
+    }
+
+    /**
+     * Get a reset declaration for setup code that picks the reset itself instead of reading it from a
+     * test, e.g. NONE when the app state is replaced right after anyway
+     */
+    public static AppReset declare(AppResetPolicy policy) {
+        return new AppReset() {
+            @Override
+            public AppResetPolicy value() {
+                return policy;
+            }
+
+            @Override
+            public boolean mutatesData() {
+                return true;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return AppReset.class;
+            }
+
+            @Override
+            public String toString() {
+                return "@AppReset(" + policy + ")";
+            }
+        };
+    }
+
+    /**
+     * Check if the test leaves app data dirty; unannotated tests are assumed to
+     */
+    public static boolean mutatesData(AppReset reset) {
+        return reset == null || reset.mutatesData();
+    }
+
+    /**
+     * Apply a reset policy to a live session and record how long it took
+     */
+    public static void apply(AndroidDriver driver, AppResetPolicy policy) {
+        String appPackage = AppConfig.getAppPackage();
+        long start = System.currentTimeMillis();
+
+        switch (policy) {
+            case NONE:
+                break;
+            case RELAUNCH:
+                driver.terminateApp(appPackage);
+                driver.activateApp(appPackage);
+                break;
+            case CLEAR_DATA:
+                driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+                if (AppConfig.getAutoGrantPermissions()) {
+                    // pm clear revokes runtime permissions that autoGrantPermissions granted at session start
+                    driver.executeScript("mobile: changePermissions", Map.of(
+                            "permissions", "all",
+                            "appPackage", appPackage,
+                            "action", "grant"
+                    ));
+                }
+                driver.activateApp(appPackage);
+                break;
+            case REINSTALL:
+                String apkPath = AppConfig.getApkPath();
+                if (apkPath == null || apkPath.isBlank()) {
+                    throw new RuntimeException("REINSTALL reset requires app.apk.path in config.properties");
+                }
+                driver.removeApp(appPackage);
+                AndroidInstallApplicationOptions installOptions = new AndroidInstallApplicationOptions();
+                if (AppConfig.getAutoGrantPermissions()) {
+                    installOptions.withGrantPermissionsEnabled();
+                }
+                driver.installApp(apkPath, installOptions);
+                driver.activateApp(appPackage);
+                break;
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        resetCounts.get(policy).incrementAndGet();
+        resetTimesMs.get(policy).addAndGet(elapsed);
+        LogUtils.info("App reset " + policy + " applied in " + elapsed + " ms");
+    }
+
+    /**
+     * Get the number of resets and total time spent per policy
+     */
+    public static String getStats() {
+        StringBuilder stats = new StringBuilder();
+        for (AppResetPolicy policy : AppResetPolicy.values()) {
+            if (stats.length() > 0) {
+                stats.append(", ");
+            }
+            stats.append(policy).append('=').append(resetCounts.get(policy).get())
+                    .append(" (").append(resetTimesMs.get(policy).get()).append(" ms)");
+        }
+        return stats.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package driver;
+
+/**
+ * App Reset Policy
+ * How far the app under test is reset before a test runs, from cheapest to most expensive
+ *
+ * @author Ciye Test Team
+ */
+public enum AppResetPolicy {
+
+    /** Keep the app process as the previous test left it */
+    NONE,
+
+    /** terminateApp + activateApp: fresh process, data kept */
+    RELAUNCH,
+
+    /** mobile: clearApp + activateApp: fresh process on wiped app data */
+    CLEAR_DATA,
+
+    /** removeApp + installApp + activateApp: fresh install of app.apk.path */
+    REINSTALL;
+
+    /**
+     * Check if this policy resets at least as much as the other one
+     */
+    public boolean covers(AppResetPolicy other) {
+        return compareTo(other) >= 0;
+    }
+}
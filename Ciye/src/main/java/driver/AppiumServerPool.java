@@ -0,0 +1,334 @@
+package driver;
+
+import config.DeviceConfig;
+import config.VirtualDeviceConfig;
+import utils.LogUtils;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Appium Server Pool
+ * Starts, health-checks, restarts and tears down the local Appium servers that the device fleet runs on.
+ * Servers are warmed in the background at suite start; a test only waits for the server of its own device.
+ *
+ * @author Ciye Test Team
+ */
+public class AppiumServerPool {
+
+    public enum ServerState {
+        STARTING, READY, RESTARTING, FAILED, EXTERNAL
+    }
+
+    /**
+     * One Appium server process listening on a local port
+     */
+    public static class ManagedServer {
+        private final int port;
+        private volatile Process process;
+        private volatile ServerState state = ServerState.STARTING;
+        private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
+        private int restarts;
+        private int consecutiveFailures;
+
+        ManagedServer(int port) {
+            this.port = port;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public ServerState getState() {
+            return state;
+        }
+
+        public String getUrl() {
+            return "http://127.0.0.1:" + port + "/";
+        }
+    }
+
+    private static AppiumServerPool instance;
+
+    private final Map<Integer, ManagedServer> servers = new ConcurrentHashMap<>();
+    // Created by every warm-up, since shutdown stops them for good
+    private volatile ExecutorService starter;
+    private volatile ScheduledExecutorService supervisor;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private volatile boolean warmedUp;
+
+    // Private constructor for singleton
+    private AppiumServerPool() {}
+
+    /**
+     * Get singleton instance of AppiumServerPool
+     */
+    public static AppiumServerPool getInstance() {
+        if (instance == null) {
+            synchronized (AppiumServerPool.class) {
+                if (instance == null) {
+                    instance = new AppiumServerPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start every server the fleet needs without waiting for them, then supervise them.
+     * Called at @BeforeSuite so server startup overlaps the rest of the suite bootstrap.
+     */
+    public synchronized void warmUp() {
+        if (warmedUp || !DeviceConfig.isAppiumServerManaged()) {
+            return;
+        }
+        warmedUp = true;
+        starter = Executors.newCachedThreadPool(daemonThreads("appium-server-starter"));
+        supervisor = Executors.newSingleThreadScheduledExecutor(daemonThreads("appium-server-supervisor"));
+
+        TreeSet<Integer> ports = new TreeSet<>();
+        if (DeviceConfig.isDeviceLeasingEnabled()) {
+            for (String deviceId : VirtualDeviceConfig.getAllDevices().keySet()) {
+                ports.add(getServerPort(deviceId));
+            }
+        } else {
+            ports.add(getServerPort(null));
+        }
+
+        LogUtils.info("Warming up Appium servers on ports: " + ports);
+        for (int port : ports) {
+            ManagedServer server = new ManagedServer(port);
+            servers.put(port, server);
+            starter.submit(() -> start(server));
+        }
+
+        long interval = DeviceConfig.getAppiumServerHealthInterval();
+        supervisor.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get the URL of the server that drives the device, waiting only for that server to become ready
+     */
+    public String getServerUrl(String deviceId) {
+        int port = getServerPort(deviceId);
+        if (!DeviceConfig.isAppiumServerManaged()) {
+            return "http://127.0.0.1:" + port + "/";
+        }
+        warmUp();
+
+        ManagedServer server = servers.get(port);
+        if (server == null) {
+            throw new RuntimeException("No Appium server is configured on port " + port + " for device: " + deviceId);
+        }
+        try {
+            server.ready.get(DeviceConfig.getAppiumServerStartTimeout(), TimeUnit.SECONDS);
+            return server.getUrl();
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Appium server on port " + port + " is not ready (state: " + server.state + ")", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Appium server on port " + port, e);
+        } catch (Exception e) {
+            throw new RuntimeException("Appium server on port " + port + " failed to start", e);
+        }
+    }
+
+    /**
+     * Check if the device's server can take sessions (or may still become able to)
+     */
+    public boolean isDeviceServable(String deviceId) {
+        if (!DeviceConfig.isAppiumServerManaged()) {
+            return true;
+        }
+        ManagedServer server = servers.get(getServerPort(deviceId));
+        return server == null || server.state != ServerState.FAILED;
+    }
+
+    /**
+     * Stop supervision and every server this pool started, called once the suite ends
+     */
+    public synchronized void shutdown() {
+        if (supervisor != null) {
+            supervisor.shutdownNow();
+            starter.shutdownNow();
+        }
+        for (ManagedServer server : servers.values()) {
+            stopProcess(server);
+        }
+        servers.clear();
+        warmedUp = false;
+        LogUtils.info("Appium server pool shut down");
+    }
+
+    /**
+     * Resolve the server port of a device: an explicit appium.server.for.<deviceId> mapping,
+     * the device's appiumPort, or the port of appium.server.url when no device is leased
+     */
+    private int getServerPort(String deviceId) {
+        if (deviceId == null) {
+            return URI.create(DeviceConfig.getAppiumServerURL()).getPort();
+        }
+        Integer mappedPort = DeviceConfig.getAppiumServerPortFor(deviceId);
+        if (mappedPort != null) {
+            return mappedPort;
+        }
+        return Integer.parseInt(VirtualDeviceConfig.getDeviceInfo(deviceId).appiumPort);
+    }
+
+    private void start(ManagedServer server) {
+        try {
+            // A server someone already runs on the port is used as-is and never restarted
+            if (server.process == null && isResponding(server)) {
+                server.state = ServerState.EXTERNAL;
+                server.ready.complete(null);
+                LogUtils.info("Using already running Appium server on port " + server.port);
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            File logFile = new File(DeviceConfig.getAppiumServerLogDir(), "appium-" + server.port + ".log");
+            logFile.getParentFile().mkdirs();
+
+            List<String> command = new ArrayList<>(List.of(DeviceConfig.getAppiumServerCommand().trim().split("\\s+")));
+            command.addAll(List.of("--address", "127.0.0.1", "--port", String.valueOf(server.port), "--base-path", "/"));
+            String extraArgs = DeviceConfig.getAppiumServerArgs();
+            if (!extraArgs.isBlank()) {
+                command.addAll(List.of(extraArgs.trim().split("\\s+")));
+            }
+
+            server.process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile))
+                    .start();
+
+            long deadline = start + TimeUnit.SECONDS.toMillis(DeviceConfig.getAppiumServerStartTimeout());
+            while (System.currentTimeMillis() < deadline) {
+                if (!server.process.isAlive()) {
+                    throw new RuntimeException("process exited with code " + server.process.exitValue() + ", see " + logFile);
+                }
+                if (isResponding(server)) {
+                    server.state = ServerState.READY;
+                    server.consecutiveFailures = 0;
+                    server.ready.complete(null);
+                    LogUtils.info("Appium server on port " + server.port + " ready in " +
+                            (System.currentTimeMillis() - start) + " ms");
+                    return;
+                }
+                Thread.sleep(250);
+            }
+            throw new RuntimeException("no /status response within " + DeviceConfig.getAppiumServerStartTimeout() + "s");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LogUtils.warn("Appium server on port " + server.port + " failed to start: " + e.getMessage());
+            stopProcess(server);
+            restartOrFail(server);
+        }
+    }
+
+    /**
+     * Probe every server's /status and restart the managed ones that crashed or stopped answering
+     */
+    private void checkHealth() {
+        for (ManagedServer server : servers.values()) {
+            if (server.state != ServerState.READY) {
+                continue;
+            }
+            boolean alive = server.process != null && server.process.isAlive();
+            if (alive && isResponding(server)) {
+                server.consecutiveFailures = 0;
+                continue;
+            }
+            server.consecutiveFailures++;
+            if (!alive || server.consecutiveFailures >= DeviceConfig.getAppiumServerMaxHealthFailures()) {
+                LogUtils.warn("Appium server on port " + server.port + " is unhealthy (alive=" + alive + ")");
+                stopProcess(server);
+                restartOrFail(server);
+            }
+        }
+    }
+
+    private void restartOrFail(ManagedServer server) {
+        if (server.restarts >= DeviceConfig.getAppiumServerMaxRestarts()) {
+            // Only this server's devices are taken out of rotation; the rest of the fleet keeps running
+            server.state = ServerState.FAILED;
+            server.ready.completeExceptionally(new RuntimeException("Appium server on port " + server.port +
+                    " gave up after " + server.restarts + " restart(s)"));
+            LogUtils.error("Appium server on port " + server.port + " marked as failed");
+            return;
+        }
+        server.restarts++;
+        server.state = ServerState.RESTARTING;
+        if (server.ready.isDone()) {
+            server.ready = new CompletableFuture<>();
+        }
+        LogUtils.warn("Restarting Appium server on port " + server.port + " (restart #" + server.restarts + ")");
+        // Linear backoff so a server that dies on boot does not burn through its restarts instantly
+        ScheduledExecutorService restartSupervisor = supervisor;
+        ExecutorService restartStarter = starter;
+        if (restartSupervisor.isShutdown()) {
+            return;
+        }
+        restartSupervisor.schedule(() -> restartStarter.submit(() -> start(server)), server.restarts, TimeUnit.SECONDS);
+    }
+
+    private boolean isResponding(ManagedServer server) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(server.getUrl() + "status"))
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void stopProcess(ManagedServer server) {
+        Process process = server.process;
+        server.process = null;
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            LogUtils.info("Stopped Appium server on port " + server.port);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
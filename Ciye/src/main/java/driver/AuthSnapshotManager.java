@@ -0,0 +1,143 @@
+package driver;
+
+import config.AppConfig;
+import utils.AdbUtils;
+import utils.LogUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Auth Snapshot Manager
+ * Captures the app data directory of a logged-in app through run-as and restores it into the app,
+ * so tests that need a signed-in user skip the UI login. Snapshots are keyed by device, user and the
+ * installed APK's versionCode and lastUpdateTime, so reinstalling or upgrading the app invalidates them.
+ * Requires a debuggable build of the app under test (run-as).
+ *
+ * @author Ciye Test Team
+ */
+public final class AuthSnapshotManager {
+
+    private static final Pattern VERSION_CODE = Pattern.compile("versionCode=(\\d+)");
+    private static final Pattern LAST_UPDATE_TIME = Pattern.compile("lastUpdateTime=([^\\r\\n]+)");
+
+    // Caches, system-owned lib links and the like are not part of the login state
+    private static final String TAR_EXCLUDES = "--exclude=./lib --exclude=./cache --exclude=./code_cache";
+
+    private static final Map<String, byte[]> snapshots = new ConcurrentHashMap<>();
+
+    private AuthSnapshotManager() {}
+
+    /**
+     * Restore the user's snapshot into the app on the current device and relaunch it.
+     * Returns false when no snapshot exists for the installed APK; the caller still has to verify the login.
+     */
+    public static boolean restore(String user) {
+        String udid = AdbUtils.getCurrentUdid();
+        String appPackage = AppConfig.getAppPackage();
+        long start = System.currentTimeMillis();
+
+        String key = snapshotKey(udid, user);
+        byte[] snapshot = snapshots.computeIfAbsent(key, AuthSnapshotManager::loadFromDisk);
+        if (snapshot == null) {
+            LogUtils.info("No auth snapshot for " + user + " on " + udid + " yet");
+            return false;
+        }
+
+        try {
+            AdbUtils.shell(udid, "am force-stop " + appPackage);
+            AdbUtils.shell(udid, "run-as " + appPackage + " sh -c 'ls -A | grep -vx lib | xargs rm -rf'");
+            AdbUtils.execIn(udid, "run-as " + appPackage + " tar -xf -", snapshot);
+            DriverContext.getDriver().activateApp(appPackage);
+        } catch (Exception e) {
+            LogUtils.warn("Failed to restore auth snapshot for " + user + ": " + e.getMessage());
+            return false;
+        }
+
+        LogUtils.info("Restored auth snapshot for " + user + " on " + udid + " in " +
+                (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    /**
+     * Capture the app data of the logged-in user on the current device and relaunch the app
+     */
+    public static void capture(String user) {
+        String udid = AdbUtils.getCurrentUdid();
+        String appPackage = AppConfig.getAppPackage();
+        long start = System.currentTimeMillis();
+
+        try {
+            String key = snapshotKey(udid, user);
+            // Stopping the app first flushes its preferences and databases to disk
+            AdbUtils.shell(udid, "am force-stop " + appPackage);
+            byte[] snapshot = AdbUtils.execOut(udid, "run-as " + appPackage + " tar -cf - " + TAR_EXCLUDES + " .");
+            snapshots.put(key, snapshot);
+            saveToDisk(key, snapshot);
+            LogUtils.info("Captured auth snapshot for " + user + " on " + udid + " (" + snapshot.length +
+                    " bytes) in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            LogUtils.warn("Failed to capture auth snapshot for " + user + ": " + e.getMessage());
+        } finally {
+            DriverContext.getDriver().activateApp(appPackage);
+        }
+    }
+
+    /**
+     * Drop the user's snapshot on the current device, e.g. when a restore did not leave the user logged in
+     */
+    public static void invalidate(String user) {
+        String key = snapshotKey(AdbUtils.getCurrentUdid(), user);
+        snapshots.remove(key);
+        try {
+            Files.deleteIfExists(snapshotFile(key));
+        } catch (IOException e) {
+            LogUtils.warn("Failed to delete auth snapshot file: " + e.getMessage());
+        }
+        LogUtils.info("Invalidated auth snapshot: " + key);
+    }
+
+    /**
+     * Key a snapshot to the device, the user and the exact APK installed on the device
+     */
+    private static String snapshotKey(String udid, String user) {
+        String dump = AdbUtils.shell(udid, "dumpsys package " + AppConfig.getAppPackage());
+        Matcher versionCode = VERSION_CODE.matcher(dump);
+        Matcher lastUpdateTime = LAST_UPDATE_TIME.matcher(dump);
+        if (!versionCode.find() || !lastUpdateTime.find()) {
+            throw new RuntimeException("App " + AppConfig.getAppPackage() + " is not installed on " + udid);
+        }
+        String apkVersion = versionCode.group(1) + "-" + lastUpdateTime.group(1).trim();
+        return (udid + "_" + user + "_" + apkVersion).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static Path snapshotFile(String key) {
+        return Paths.get(AppConfig.getAuthSnapshotDir(), key + ".tar");
+    }
+
+    private static byte[] loadFromDisk(String key) {
+        Path file = snapshotFile(key);
+        try {
+            return Files.exists(file) ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            LogUtils.warn("Failed to read auth snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void saveToDisk(String key, byte[] snapshot) {
+        Path file = snapshotFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, snapshot);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write auth snapshot " + file + ": " + e.getMessage());
+        }
+    }
+}
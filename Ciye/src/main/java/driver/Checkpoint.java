@@ -0,0 +1,24 @@
+package driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Checkpoint
+ * Declares the precondition a test class or method starts from. The first test on a device builds it
+ * and saves an emulator snapshot; later tests load the snapshot instead of rebuilding the state.
+ * With checkpoints disabled the precondition is built for every test. Implementations live in the
+ * preconditions package.
+ * A snapshot only holds device-local state: a precondition that also sets backend state checks it
+ * again in restored(), since another test may have changed it since the snapshot was saved.
+ *
+ * @author Ciye Test Team
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Checkpoint {
+
+    Class<? extends Precondition> value();
+}
@@ -0,0 +1,336 @@
+package driver;
+
+import config.AppConfig;
+import config.DeviceConfig;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import utils.AdbUtils;
+import utils.LogUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoint Cache
+ * Saves, loads and evicts emulator snapshots (adb emu avd snapshot) that hold a built precondition.
+ * A checkpoint is named after the precondition and a key hashed from the installed APK and the
+ * precondition definition, so a new build of the app or a changed precondition never loads a stale state.
+ * The index of checkpoints is persisted between runs; the least recently used checkpoints are deleted
+ * when their snapshots take more disk space than the configured limit.
+ *
+ * @author Ciye Test Team
+ */
+public class CheckpointCache {
+
+    /**
+     * One saved checkpoint
+     */
+    public static class Entry {
+        private final String snapshotName;
+        private final String avdName;
+        private final long createdAt;
+        private long lastUsedAt;
+        private long sizeBytes;
+
+        Entry(String snapshotName, String avdName, long createdAt, long lastUsedAt, long sizeBytes) {
+            this.snapshotName = snapshotName;
+            this.avdName = avdName;
+            this.createdAt = createdAt;
+            this.lastUsedAt = lastUsedAt;
+            this.sizeBytes = sizeBytes;
+        }
+
+        public String getSnapshotName() {
+            return snapshotName;
+        }
+
+        public String getAvdName() {
+            return avdName;
+        }
+
+        public long getLastUsedAt() {
+            return lastUsedAt;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+    }
+
+    private static CheckpointCache instance;
+
+    private final String adbPath;
+    private final Path indexFile;
+    private final Path avdHome;
+    private final long maxDiskBytes;
+
+    // Keyed by AVD and snapshot name; guarded by this cache's monitor
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * @param adbPath      adb binary to drive the emulator console with
+     * @param indexFile    JSON file the checkpoint index is persisted in
+     * @param avdHome      directory holding the <avd>.avd folders, used to measure snapshot sizes
+     * @param maxDiskBytes disk space the checkpoints may use before the least recently used ones are deleted
+     */
+    public CheckpointCache(String adbPath, Path indexFile, Path avdHome, long maxDiskBytes) {
+        this.adbPath = adbPath;
+        this.indexFile = indexFile;
+        this.avdHome = avdHome;
+        this.maxDiskBytes = maxDiskBytes;
+        loadIndex();
+    }
+
+    /**
+     * Get singleton instance of CheckpointCache configured from config.properties
+     */
+    public static CheckpointCache getInstance() {
+        if (instance == null) {
+            synchronized (CheckpointCache.class) {
+                if (instance == null) {
+                    instance = new CheckpointCache(
+                            DeviceConfig.getAdbPath(),
+                            Paths.get(DeviceConfig.getCheckpointIndexFile()),
+                            Paths.get(DeviceConfig.getCheckpointAvdHome()),
+                            DeviceConfig.getCheckpointMaxDiskMb() * 1024L * 1024L);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the snapshot name of a precondition for the APK installed on the device
+     */
+    public String getSnapshotName(String udid, Precondition precondition) {
+        String definition = getApkHash(udid) + "|" + precondition.getClass().getName() + "|" +
+                precondition.name() + "|" + precondition.version();
+        return "ciye_" + precondition.name().replaceAll("[^A-Za-z0-9_-]", "_") + "_" + sha256(definition).substring(0, 12);
+    }
+
+    /**
+     * Check if the device's AVD has a saved checkpoint of the precondition
+     */
+    public synchronized boolean contains(String udid, Precondition precondition) {
+        String avdName = getAvdName(udid);
+        return entries.containsKey(entryKey(avdName, getSnapshotName(udid, precondition)));
+    }
+
+    /**
+     * Load the precondition's checkpoint into the emulator.
+     * Returns false when there is none or it could not be loaded; a broken checkpoint is forgotten.
+     * Every session on the device is invalid afterwards and must be recreated.
+     */
+    public synchronized boolean load(String udid, Precondition precondition) {
+        String avdName = getAvdName(udid);
+        String snapshotName = getSnapshotName(udid, precondition);
+        Entry entry = entries.get(entryKey(avdName, snapshotName));
+        if (entry == null) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            emulatorConsole(udid, "avd", "snapshot", "load", snapshotName);
+            AdbUtils.runWith(adbPath, udid, "wait-for-device");
+        } catch (RuntimeException e) {
+            LogUtils.warn("Failed to load checkpoint " + snapshotName + ", it will be rebuilt: " + e.getMessage());
+            entries.remove(entryKey(avdName, snapshotName));
+            saveIndex();
+            return false;
+        }
+
+        entry.lastUsedAt = System.currentTimeMillis();
+        saveIndex();
+        LogUtils.info("Loaded checkpoint " + snapshotName + " on " + udid + " in " +
+                (entry.lastUsedAt - start) + " ms");
+        return true;
+    }
+
+    /**
+     * Save the device's current state as the precondition's checkpoint, then evict old checkpoints
+     * until the cache fits its disk limit again
+     */
+    public synchronized void save(String udid, Precondition precondition) {
+        String avdName = getAvdName(udid);
+        String snapshotName = getSnapshotName(udid, precondition);
+        long start = System.currentTimeMillis();
+
+        emulatorConsole(udid, "avd", "snapshot", "save", snapshotName);
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(snapshotName, avdName, now, now, measureSize(avdName, snapshotName));
+        entries.put(entryKey(avdName, snapshotName), entry);
+        LogUtils.info("Saved checkpoint " + snapshotName + " (" + entry.sizeBytes / (1024 * 1024) + " MB) in " +
+                (now - start) + " ms");
+
+        evict(udid, avdName, entry);
+        saveIndex();
+    }
+
+    /**
+     * Get the saved checkpoints, least recently used first
+     */
+    public synchronized List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong(Entry::getLastUsedAt));
+        return sorted;
+    }
+
+    /**
+     * Delete least recently used checkpoints until the total size fits the limit; the checkpoint
+     * just saved is kept even when it alone exceeds the limit
+     */
+    private void evict(String udid, String currentAvd, Entry keep) {
+        long totalBytes = entries.values().stream().mapToLong(Entry::getSizeBytes).sum();
+        for (Entry candidate : getEntries()) {
+            if (totalBytes <= maxDiskBytes) {
+                break;
+            }
+            if (candidate == keep) {
+                continue;
+            }
+            try {
+                if (candidate.avdName.equals(currentAvd)) {
+                    emulatorConsole(udid, "avd", "snapshot", "delete", candidate.snapshotName);
+                } else {
+                    // The emulator of another AVD may not be running, so its snapshot is removed from disk
+                    deleteRecursively(snapshotDir(candidate.avdName, candidate.snapshotName));
+                }
+            } catch (RuntimeException e) {
+                LogUtils.warn("Failed to delete checkpoint " + candidate.snapshotName + ": " + e.getMessage());
+            }
+            entries.remove(entryKey(candidate.avdName, candidate.snapshotName));
+            totalBytes -= candidate.sizeBytes;
+            LogUtils.info("Evicted checkpoint " + candidate.snapshotName + " to stay within " +
+                    maxDiskBytes / (1024 * 1024) + " MB");
+        }
+    }
+
+    /**
+     * Run an emulator console command; the console reports failures as "KO" with a zero exit code
+     */
+    private String emulatorConsole(String udid, String... command) {
+        String[] args = new String[command.length + 1];
+        args[0] = "emu";
+        System.arraycopy(command, 0, args, 1, command.length);
+        String output = AdbUtils.runWith(adbPath, udid, args);
+        if (output.contains("KO")) {
+            throw new RuntimeException("Emulator console command failed: " + String.join(" ", command) +
+                    " - " + output.trim());
+        }
+        return output;
+    }
+
+    private String getAvdName(String udid) {
+        // Prints the AVD name followed by an OK line
+        String output = emulatorConsole(udid, "avd", "name");
+        return output.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.equals("OK"))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Device " + udid + " is not an emulator"));
+    }
+
+    /**
+     * Hash the APK files installed on the device (split APKs included)
+     */
+    private String getApkHash(String udid) {
+        String paths = AdbUtils.runWith(adbPath, udid, "shell", "pm path " + AppConfig.getAppPackage());
+        List<String> apkFiles = paths.lines()
+                .filter(line -> line.startsWith("package:"))
+                .map(line -> line.substring("package:".length()).trim())
+                .toList();
+        if (apkFiles.isEmpty()) {
+            throw new RuntimeException("App " + AppConfig.getAppPackage() + " is not installed on " + udid);
+        }
+        return sha256(AdbUtils.runWith(adbPath, udid, "shell", "sha256sum " + String.join(" ", apkFiles)));
+    }
+
+    private long measureSize(String avdName, String snapshotName) {
+        Path dir = snapshotDir(avdName, snapshotName);
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            LogUtils.warn("Failed to measure checkpoint " + snapshotName + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private Path snapshotDir(String avdName, String snapshotName) {
+        return avdHome.resolve(avdName + ".avd").resolve("snapshots").resolve(snapshotName);
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            JSONArray saved = new JSONObject(Files.readString(indexFile)).getJSONArray("checkpoints");
+            for (int i = 0; i < saved.length(); i++) {
+                JSONObject json = saved.getJSONObject(i);
+                Entry entry = new Entry(json.getString("snapshot"), json.getString("avd"),
+                        json.getLong("createdAt"), json.getLong("lastUsedAt"), json.getLong("sizeBytes"));
+                entries.put(entryKey(entry.avdName, entry.snapshotName), entry);
+            }
+        } catch (Exception e) {
+            LogUtils.warn("Ignoring unreadable checkpoint index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private void saveIndex() {
+        JSONArray saved = new JSONArray();
+        for (Entry entry : entries.values()) {
+            saved.put(new JSONObject()
+                    .put("snapshot", entry.snapshotName)
+                    .put("avd", entry.avdName)
+                    .put("createdAt", entry.createdAt)
+                    .put("lastUsedAt", entry.lastUsedAt)
+                    .put("sizeBytes", entry.sizeBytes));
+        }
+        try {
+            if (indexFile.getParent() != null) {
+                Files.createDirectories(indexFile.getParent());
+            }
+            Files.writeString(indexFile, new JSONObject().put("checkpoints", saved).toString(2));
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write checkpoint index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private static String entryKey(String avdName, String snapshotName) {
+        return avdName + "/" + snapshotName;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete " + dir, e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+}
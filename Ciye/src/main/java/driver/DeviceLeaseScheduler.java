@@ -0,0 +1,196 @@
+package driver;
+
+import config.DeviceConfig;
+import config.VirtualDeviceConfig;
+import utils.LogUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Device Lease Scheduler
+ * Hands out exclusive leases on the VirtualDeviceConfig fleet to test worker threads.
+ * A thread blocks while every device is leased and gets the next device that is released.
+ * Devices whose Appium server was taken out of rotation are skipped, so one sick server
+ * only shrinks the fleet instead of failing the tests queued on it.
+ *
+ * @author Ciye Test Team
+ */
+public class DeviceLeaseScheduler {
+
+    /**
+     * An exclusive lease on one device, held by one thread
+     */
+    public static class DeviceLease {
+        private final String deviceId;
+        private final Thread holder;
+        private final long acquiredAt;
+
+        DeviceLease(String deviceId, Thread holder) {
+            this.deviceId = deviceId;
+            this.holder = holder;
+            this.acquiredAt = System.currentTimeMillis();
+        }
+
+        public String getDeviceId() {
+            return deviceId;
+        }
+
+        public VirtualDeviceConfig.DeviceInfo getDeviceInfo() {
+            return VirtualDeviceConfig.getDeviceInfo(deviceId);
+        }
+
+        public long getAcquiredAt() {
+            return acquiredAt;
+        }
+    }
+
+    private static DeviceLeaseScheduler instance;
+
+    private static final ThreadLocal<DeviceLease> leaseThreadLocal = new ThreadLocal<>();
+    private static final long RECLAIM_CHECK_INTERVAL_MS = 1000;
+
+    // Guarded by this scheduler's monitor; releasing a device notifies waiting threads
+    private final Deque<String> freeDevices = new ArrayDeque<>();
+    private final Map<String, DeviceLease> activeLeases = new ConcurrentHashMap<>();
+    private final List<String> fleet;
+    private final int fleetSize;
+
+    // Private constructor for singleton
+    private DeviceLeaseScheduler() {
+        // Sorted so device1 is always handed out first on a single-threaded run
+        fleet = List.copyOf(new TreeSet<>(VirtualDeviceConfig.getAllDevices().keySet()));
+        freeDevices.addAll(fleet);
+        fleetSize = fleet.size();
+        LogUtils.info("Device lease scheduler initialized with " + fleetSize + " device(s): " + freeDevices);
+    }
+
+    /**
+     * Get singleton instance of DeviceLeaseScheduler
+     */
+    public static DeviceLeaseScheduler getInstance() {
+        if (instance == null) {
+            synchronized (DeviceLeaseScheduler.class) {
+                if (instance == null) {
+                    instance = new DeviceLeaseScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Lease a device for the current thread, blocking until one is free.
+     * Returns the thread's existing lease if it already holds one.
+     */
+    public DeviceLease acquire() {
+        DeviceLease current = leaseThreadLocal.get();
+        if (current != null) {
+            return current;
+        }
+
+        long timeoutMs = TimeUnit.SECONDS.toMillis(DeviceConfig.getDeviceLeaseTimeout());
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        Thread thread = Thread.currentThread();
+
+        try {
+            synchronized (this) {
+                while (true) {
+                    String deviceId = pollServableDevice();
+                    if (deviceId != null) {
+                        DeviceLease lease = new DeviceLease(deviceId, thread);
+                        activeLeases.put(deviceId, lease);
+                        leaseThreadLocal.set(lease);
+                        LogUtils.info("Leased device " + deviceId + " to thread: " + thread.getName());
+                        return lease;
+                    }
+
+                    if (fleet.stream().noneMatch(AppiumServerPool.getInstance()::isDeviceServable)) {
+                        throw new RuntimeException("No device in the fleet has a working Appium server");
+                    }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new RuntimeException("No device became free within " + timeoutMs + " ms for thread: "
+                                + thread.getName() + " (active leases: " + activeLeases.keySet() + ")");
+                    }
+
+                    wait(Math.min(remaining, RECLAIM_CHECK_INTERVAL_MS));
+                    reclaimOrphanedLeases();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a device lease", e);
+        }
+    }
+
+    /**
+     * Release the current thread's lease so a waiting thread can use the device
+     */
+    public void release() {
+        DeviceLease lease = leaseThreadLocal.get();
+        if (lease == null) {
+            return;
+        }
+        leaseThreadLocal.remove();
+        returnDevice(lease);
+        LogUtils.info("Released device " + lease.deviceId + " after " +
+                (System.currentTimeMillis() - lease.acquiredAt) + " ms");
+    }
+
+    /**
+     * Get the lease held by the current thread, or null when it holds none
+     */
+    public DeviceLease getCurrentLease() {
+        return leaseThreadLocal.get();
+    }
+
+    /**
+     * Get the number of devices the scheduler can lease in parallel
+     */
+    public int getFleetSize() {
+        return fleetSize;
+    }
+
+    /**
+     * Take the first free device whose Appium server can serve it
+     */
+    private String pollServableDevice() {
+        Iterator<String> iterator = freeDevices.iterator();
+        while (iterator.hasNext()) {
+            String deviceId = iterator.next();
+            if (AppiumServerPool.getInstance().isDeviceServable(deviceId)) {
+                iterator.remove();
+                return deviceId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return devices whose holder thread died without releasing them
+     */
+    private void reclaimOrphanedLeases() {
+        for (DeviceLease lease : activeLeases.values()) {
+            if (!lease.holder.isAlive()) {
+                LogUtils.warn("Reclaiming device " + lease.deviceId + " from dead thread: " + lease.holder.getName());
+                returnDevice(lease);
+            }
+        }
+    }
+
+    private synchronized void returnDevice(DeviceLease lease) {
+        // remove(key, value) guarantees a device is only put back once
+        if (activeLeases.remove(lease.deviceId, lease)) {
+            freeDevices.offer(lease.deviceId);
+            notifyAll();
+        }
+    }
+}
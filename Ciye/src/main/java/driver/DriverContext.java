@@ -0,0 +1,136 @@
+package driver;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Driver Context
+ * The single place page objects and utilities resolve "the driver of the current test" from.
+ * DriverManager and ThreadLocalDriverManager bind their driver here; threads started by a test inherit
+ * the binding, and tasks handed to an executor carry it over when wrapped with {@link #wrap(Runnable)}.
+ *
+ * @author Ciye Test Team
+ */
+public final class DriverContext {
+
+    /**
+     * The driver and device bound to a thread
+     */
+    public static final class Binding {
+        private final AndroidDriver driver;
+        private final String deviceId;
+
+        Binding(AndroidDriver driver, String deviceId) {
+            this.driver = driver;
+            this.deviceId = deviceId;
+        }
+
+        public AndroidDriver getDriver() {
+            return driver;
+        }
+
+        public String getDeviceId() {
+            return deviceId;
+        }
+    }
+
+    // Inheritable so plain helper threads started by a test see its driver; pooled executor threads
+    // outlive the test that created them, which is why executor tasks must be wrapped instead
+    private static final InheritableThreadLocal<Binding> bindingThreadLocal = new InheritableThreadLocal<>();
+
+    private DriverContext() {}
+
+    /**
+     * Bind a driver to the current thread
+     *
+     * @param deviceId fleet device the driver runs on, or null for the config.properties device
+     */
+    public static void bind(AndroidDriver driver, String deviceId) {
+        bindingThreadLocal.set(new Binding(driver, deviceId));
+    }
+
+    /**
+     * Remove the current thread's binding
+     */
+    public static void unbind() {
+        bindingThreadLocal.remove();
+    }
+
+    /**
+     * Check if a driver is bound to the current thread
+     */
+    public static boolean isBound() {
+        return bindingThreadLocal.get() != null;
+    }
+
+    /**
+     * Get the driver bound to the current thread
+     */
+    public static AndroidDriver getDriver() {
+        return requireBinding().driver;
+    }
+
+    /**
+     * Get the device the current thread's driver runs on, or null for the config.properties device
+     */
+    public static String getDeviceId() {
+        return requireBinding().deviceId;
+    }
+
+    /**
+     * Get the current binding, or null when the thread has none
+     */
+    public static Binding current() {
+        return bindingThreadLocal.get();
+    }
+
+    /**
+     * Wrap a task so it runs against the calling thread's driver on whichever thread executes it
+     */
+    public static Runnable wrap(Runnable task) {
+        Binding captured = bindingThreadLocal.get();
+        return () -> {
+            Binding previous = bindingThreadLocal.get();
+            restore(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so it runs against the calling thread's driver on whichever thread executes it
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Binding captured = bindingThreadLocal.get();
+        return () -> {
+            Binding previous = bindingThreadLocal.get();
+            restore(captured);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static Binding requireBinding() {
+        Binding binding = bindingThreadLocal.get();
+        if (binding == null) {
+            throw new RuntimeException("No driver bound to thread: " + Thread.currentThread().getName() +
+                    " (start the driver in setUp, or wrap executor tasks with DriverContext.wrap)");
+        }
+        return binding;
+    }
+
+    private static void restore(Binding binding) {
+        if (binding == null) {
+            bindingThreadLocal.remove();
+        } else {
+            bindingThreadLocal.set(binding);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package driver;
 
 import config.AppConfig;
+import config.DeviceCapabilityFactory;
 import config.DeviceConfig;
+import config.PortAllocator;
+import config.VirtualDeviceConfig;
+import io.appium.java_client.AppiumClientConfig;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import utils.LogUtils;
+import utils.ScreenGeneration;
+import utils.TimeAccounting;
 
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Driver Manager - Singleton Pattern
@@ -21,7 +29,18 @@ public class DriverManager {
 
     private static DriverManager instance;
     private AndroidDriver driver;
-    private static final ThreadLocal<AndroidDriver> driverThreadLocal = new ThreadLocal<>();
+    // The leased session is owned by the test thread; its driver is published through DriverContext
+    private static final ThreadLocal<SessionPool.PooledSession> sessionThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<SessionPool> sessionPoolThreadLocal = new ThreadLocal<>();
+
+    // Pool key used when no device is leased and the single device from config.properties is driven
+    private static final String DEFAULT_DEVICE_KEY = "default";
+
+    // Sessions are bound to a device, so every leased device gets its own pool
+    private final Map<String, SessionPool> sessionPools = new ConcurrentHashMap<>();
+
+    // Host ports reserved by each fleet session, recycled when the session is quit
+    private final Map<AndroidDriver, PortAllocator.SessionPorts> sessionPorts = new ConcurrentHashMap<>();
 
     // Private constructor for singleton
     private DriverManager() {}
@@ -42,43 +61,96 @@ public class DriverManager {
 
     /**
      * Initialize and return AndroidDriver
+     * Targets the device leased by the current thread, or the config.properties device when none is leased.
+     * Sessions come from the device's session pool, which only reuses them when session pooling is enabled.
      */
     public AndroidDriver getDriver() {
-        if (driverThreadLocal.get() == null) {
-            createDriver();
+        return getDriver(null);
+    }
+
+    /**
+     * Initialize and return AndroidDriver with the app reset the test declared
+     *
+     * @param reset the test's reset declaration, or null for the default policy
+     */
+    public AndroidDriver getDriver(AppReset reset) {
+        if (!DriverContext.isBound()) {
+            String deviceId = getLeasedDeviceId();
+            SessionPool pool = getSessionPool(deviceId);
+            SessionPool.PooledSession session = pool.lease(reset);
+            sessionPoolThreadLocal.set(pool);
+            sessionThreadLocal.set(session);
+            DriverContext.bind(session.getDriver(), deviceId);
+        }
+        return DriverContext.getDriver();
+    }
+
+    /**
+     * Start the first session of every device in the background, called at suite start
+     * so the first test on each device takes over a session instead of creating one
+     */
+    public void precreateSessions() {
+        if (!DeviceConfig.isSessionPrecreateEnabled()) {
+            return;
+        }
+        if (DeviceConfig.isDeviceLeasingEnabled()) {
+            VirtualDeviceConfig.getAllDevices().keySet().forEach(deviceId -> getSessionPool(deviceId).precreate());
+        } else {
+            getSessionPool(null).precreate();
         }
-        return driverThreadLocal.get();
     }
 
     /**
      * Create new AndroidDriver instance
      */
-    private void createDriver() {
+    private AndroidDriver createDriver(String deviceId) {
+        PortAllocator.SessionPorts ports = null;
+        AndroidDriver newDriver = null;
         try {
-            LogUtils.info("Initializing Ciye app driver...");
+            LogUtils.info("Initializing Ciye app driver" + (deviceId != null ? " for device: " + deviceId : "") + "...");
+
+            UiAutomator2Options options;
+            String serverUrl;
+
+            if (deviceId != null) {
+                // Fleet device: capabilities and server come from VirtualDeviceConfig
+                ports = PortAllocator.allocate(deviceId);
+                options = DeviceCapabilityFactory.createCapabilities(deviceId, ports);
+                serverUrl = AppiumServerPool.getInstance().getServerUrl(deviceId);
+            } else {
+                options = new UiAutomator2Options();
 
-            UiAutomator2Options options = new UiAutomator2Options();
+                // Set device capabilities from config
+                options.setPlatformName(DeviceConfig.getPlatformName());
+                options.setAutomationName(DeviceConfig.getAutomationName());
+                options.setPlatformVersion(DeviceConfig.getPlatformVersion());
+                options.setDeviceName(DeviceConfig.getDeviceName());
+                options.setUdid(DeviceConfig.getDeviceUDID());
 
-            // Set device capabilities from config
-            options.setPlatformName(DeviceConfig.getPlatformName());
-            options.setAutomationName(DeviceConfig.getAutomationName());
-            options.setPlatformVersion(DeviceConfig.getPlatformVersion());
-            options.setDeviceName(DeviceConfig.getDeviceName());
-            options.setUdid(DeviceConfig.getDeviceUDID());
+                // Set app capabilities from config
+                options.setAppPackage(AppConfig.getAppPackage());
+                options.setAppActivity(AppConfig.getAppActivity());
+                options.setCapability("autoGrantPermissions", AppConfig.getAutoGrantPermissions());
 
-            // Set app capabilities from config
-            options.setAppPackage(AppConfig.getAppPackage());
-            options.setAppActivity(AppConfig.getAppActivity());
-            options.setNoReset(AppConfig.getNoReset());
-            options.setCapability("autoGrantPermissions", AppConfig.getAutoGrantPermissions());
+                // Additional capabilities for stability
+                options.setCapability("appium:newCommandTimeout", 300);
+                options.setCapability("appium:androidInstallTimeout", 90000);
 
-            // Additional capabilities for stability
-            options.setCapability("appium:newCommandTimeout", 300);
-            options.setCapability("appium:androidInstallTimeout", 90000);
+                serverUrl = DeviceConfig.isAppiumServerManaged()
+                        ? AppiumServerPool.getInstance().getServerUrl(null)
+                        : DeviceConfig.getAppiumServerURL();
+            }
+
+            // Resets are applied per test by AppResetEngine when the session is leased,
+            // so starting a session must not wipe app data (e.g. a just loaded checkpoint)
+            options.setNoReset(true);
 
             // Create driver instance
-            AndroidDriver newDriver = new AndroidDriver(
-                    new URI(DeviceConfig.getAppiumServerURL()).toURL(),
+            // Every command goes through the time accounting filter to be charged to the running test
+            newDriver = new AndroidDriver(
+                    AppiumClientConfig.defaultConfig()
+                            .baseUrl(new URI(serverUrl).toURL())
+                            .withFilter(TimeAccounting.httpFilter().andThen(ScreenGeneration.httpFilter())),
                     options
             );
 
@@ -86,32 +158,116 @@ public class DriverManager {
             newDriver.manage().timeouts()
                     .implicitlyWait(Duration.ofSeconds(AppConfig.getImplicitWait()));
 
-            driverThreadLocal.set(newDriver);
+            if (ports != null) {
+                sessionPorts.put(newDriver, ports);
+            }
             LogUtils.info("Ciye app driver initialized successfully");
+            return newDriver;
 
         } catch (MalformedURLException | URISyntaxException e) {
+            PortAllocator.release(ports);
             LogUtils.error("Failed to create driver: " + e.getMessage());
             throw new RuntimeException("Driver initialization failed", e);
+        } catch (RuntimeException e) {
+            // A session that started but could not be set up is ended before its ports are reused
+            if (newDriver != null) {
+                sessionPorts.remove(newDriver);
+                try {
+                    newDriver.quit();
+                } catch (Exception quitError) {
+                    LogUtils.warn("Failed to quit half-initialized driver: " + quitError.getMessage());
+                }
+            }
+            PortAllocator.release(ports);
+            throw e;
+        }
+    }
+
+    /**
+     * Quit a driver session and recycle the host ports it reserved
+     */
+    private void closeDriver(AndroidDriver driverToClose) {
+        try {
+            driverToClose.quit();
+        } finally {
+            PortAllocator.release(sessionPorts.remove(driverToClose));
+        }
+    }
+
+    /**
+     * Return the current driver to the session pool, or quit it when pooling is disabled
+     */
+    public void releaseDriver() {
+        SessionPool.PooledSession session = sessionThreadLocal.get();
+        if (session == null) {
+            quitDriver();
+            return;
         }
+        LogUtils.info("Returning driver to session pool...");
+        SessionPool pool = sessionPoolThreadLocal.get();
+        clearThreadState();
+        pool.release(session);
     }
 
     /**
      * Quit driver and clean up
      */
     public void quitDriver() {
-        AndroidDriver currentDriver = driverThreadLocal.get();
-        if (currentDriver != null) {
+        SessionPool.PooledSession session = sessionThreadLocal.get();
+        if (session != null) {
             LogUtils.info("Quitting driver...");
-            currentDriver.quit();
-            driverThreadLocal.remove();
+            sessionPoolThreadLocal.get().discard(session);
             LogUtils.info("Driver quit successfully");
         }
+        // A helper thread only borrows the test's driver, so it just drops its binding
+        clearThreadState();
+    }
+
+    /**
+     * Quit the current driver and every pooled session, called once the suite ends
+     */
+    public void shutdown() {
+        quitDriver();
+        sessionPools.forEach((deviceKey, pool) -> {
+            LogUtils.info("Shutting down session pool for: " + deviceKey);
+            pool.shutdown();
+        });
+        LogUtils.info("Session pre-creation - " + SessionPool.getPrecreationStats());
+        LogUtils.info("App resets - " + AppResetEngine.getStats());
+    }
+
+    /**
+     * Quit the idle and pre-created sessions of the device leased by the current thread,
+     * called before the device state is replaced by an emulator snapshot
+     */
+    public void discardIdleSessions() {
+        getSessionPool(getLeasedDeviceId()).discardIdleSessions();
     }
 
     /**
      * Check if driver is active
      */
     public boolean isDriverActive() {
-        return driverThreadLocal.get() != null;
+        return DriverContext.isBound();
+    }
+
+    private SessionPool getSessionPool(String deviceId) {
+        String key = deviceId != null ? deviceId : DEFAULT_DEVICE_KEY;
+        int maxReuse = DeviceConfig.isSessionPoolEnabled() ? DeviceConfig.getSessionPoolMaxReuse() : 1;
+        return sessionPools.computeIfAbsent(key, k -> new SessionPool(() -> createDriver(deviceId), this::closeDriver, maxReuse));
+    }
+
+    private String getLeasedDeviceId() {
+        if (!DeviceConfig.isDeviceLeasingEnabled()) {
+            return null;
+        }
+        DeviceLeaseScheduler.DeviceLease lease = DeviceLeaseScheduler.getInstance().getCurrentLease();
+        return lease != null ? lease.getDeviceId() : null;
+    }
+
+    private void clearThreadState() {
+        DriverContext.unbind();
+        sessionThreadLocal.remove();
+        sessionPoolThreadLocal.remove();
     }
 }
\ No newline at end of file
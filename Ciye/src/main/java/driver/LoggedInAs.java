@@ -0,0 +1,25 @@
+package driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Logged In As
+ * Declares that a test class or method starts with the given TestData user logged in.
+ * The login is restored from an auth snapshot when one exists for the installed APK, and done
+ * through the UI (then captured) otherwise. Without an explicit @AppReset the app data is not
+ * reset before the restore, since the restore replaces it anyway.
+ *
+ * @author Ciye Test Team
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface LoggedInAs {
+
+    /**
+     * TestData user name, e.g. "ValidUser"
+     */
+    String value();
+}
@@ -0,0 +1,34 @@
+package driver;
+
+/**
+ * Precondition
+ * An expensive, device-local app state a test starts from (logged in, photo set, ...),
+ * built once per device and then restored from an emulator snapshot checkpoint.
+ * Implementations need a public no-argument constructor.
+ *
+ * @author Ciye Test Team
+ */
+public interface Precondition {
+
+    /**
+     * Short name used in the snapshot name, e.g. "logged-in"
+     */
+    String name();
+
+    /**
+     * Bump whenever build() changes, so checkpoints of the old definition are no longer used
+     */
+    int version();
+
+    /**
+     * Bring the app from a clean launch into the precondition state through the current driver
+     */
+    void build();
+
+    /**
+     * Pick up the restored state after the precondition's checkpoint was loaded into a new session,
+     * e.g. mark the test as logged in, and re-apply any backend state the snapshot does not hold
+     */
+    default void restored() {
+    }
+}
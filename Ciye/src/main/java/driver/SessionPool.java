@@ -0,0 +1,319 @@
+package driver;
+
+import config.AppConfig;
+import config.DeviceConfig;
+import io.appium.java_client.android.AndroidDriver;
+import utils.LogUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Session Pool
+ * Keeps healthy AndroidDriver sessions alive between tests so that each test leases
+ * an existing UiAutomator2 session instead of paying for a new one.
+ * When a session has to be replaced, the replacement is created in the background
+ * so the next lease on the device picks it up instead of waiting for a session start.
+ *
+ * @author Ciye Test Team
+ */
+public class SessionPool {
+
+    /**
+     * A driver session owned by the pool
+     */
+    public static class PooledSession {
+        private final AndroidDriver driver;
+        private final long createdAt;
+        private final long creationMs;
+        private int leaseCount;
+
+        PooledSession(AndroidDriver driver, long creationMs) {
+            this.driver = driver;
+            this.createdAt = System.currentTimeMillis();
+            this.creationMs = creationMs;
+        }
+
+        public AndroidDriver getDriver() {
+            return driver;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public int getLeaseCount() {
+            return leaseCount;
+        }
+
+        public long getCreationMs() {
+            return creationMs;
+        }
+    }
+
+    // Shared by every pool; session starts are network-bound so threads are cheap
+    private static final ExecutorService precreator = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "session-precreator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Run-wide pre-creation figures across all pools
+    private static final AtomicInteger precreatedUsed = new AtomicInteger();
+    private static final AtomicInteger precreatedWasted = new AtomicInteger();
+    private static final AtomicLong hiddenCreationMs = new AtomicLong();
+
+    private final Supplier<AndroidDriver> sessionFactory;
+    private final Consumer<AndroidDriver> sessionCloser;
+    private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+    private final int maxReuse;
+
+    // Session being created in the background for the next lease; guarded by idleSessions
+    private CompletableFuture<PooledSession> spareSession;
+
+    // App data lives on the device, so whether the last test dirtied it is tracked per pool
+    private volatile boolean dataDirty;
+
+    private final AtomicInteger createdSessions = new AtomicInteger();
+    private final AtomicInteger reusedSessions = new AtomicInteger();
+    private final AtomicInteger discardedSessions = new AtomicInteger();
+
+    /**
+     * @param maxReuse number of leases a session serves before it is quit (1 disables reuse)
+     */
+    public SessionPool(Supplier<AndroidDriver> sessionFactory, Consumer<AndroidDriver> sessionCloser, int maxReuse) {
+        this.sessionFactory = sessionFactory;
+        this.sessionCloser = sessionCloser;
+        this.maxReuse = Math.max(1, maxReuse);
+    }
+
+    /**
+     * Lease a healthy session, taking over the pre-created one or creating a new one
+     * only when no idle session is usable. The app is reset as the test's reset policy requires.
+     *
+     * @param reset the test's reset declaration, or null for the default policy
+     */
+    public PooledSession lease(AppReset reset) {
+        AppResetPolicy policy = AppResetEngine.resolve(reset, dataDirty);
+        PooledSession session;
+        while ((session = pollIdle()) != null) {
+            if (isHealthy(session) && resetApp(session, policy)) {
+                session.leaseCount++;
+                reusedSessions.incrementAndGet();
+                LogUtils.info("Reusing pooled session " + session.driver.getSessionId() +
+                        " (lease #" + session.leaseCount + ", reset " + policy + ")");
+                dataDirty = AppResetEngine.mutatesData(reset);
+                return session;
+            }
+            LogUtils.warn("Pooled session " + session.driver.getSessionId() + " is unusable, discarding it");
+            discard(session);
+        }
+
+        session = takeSpareSession();
+        if (session == null) {
+            session = createSession();
+        }
+        session.leaseCount = 1;
+
+        // Sessions start with noReset, so starting one only relaunches the app; heavier resets are applied here
+        if (!AppResetPolicy.RELAUNCH.covers(policy) && !resetApp(session, policy)) {
+            discard(session);
+            throw new RuntimeException("App reset " + policy + " failed on a new session");
+        }
+        dataDirty = AppResetEngine.mutatesData(reset);
+        return session;
+    }
+
+    /**
+     * Start creating a session in the background so the next lease does not wait for it.
+     * Does nothing when pre-creation is disabled, a session is idle or one is already on its way.
+     * Only call it while no test drives the device: a session start takes over the device's UiAutomator2 server.
+     */
+    public void precreate() {
+        if (!DeviceConfig.isSessionPrecreateEnabled()) {
+            return;
+        }
+        synchronized (idleSessions) {
+            if (!idleSessions.isEmpty() || spareSession != null) {
+                return;
+            }
+            spareSession = CompletableFuture.supplyAsync(this::createSession, precreator);
+        }
+        LogUtils.info("Pre-creating the next session in the background");
+    }
+
+    /**
+     * Return a session to the pool; the app is reset when the session is leased again.
+     * Sessions that are unhealthy or exceeded their reuse budget are quit instead.
+     */
+    public void release(PooledSession session) {
+        if (session == null) {
+            return;
+        }
+
+        if (session.leaseCount >= maxReuse) {
+            LogUtils.info("Session " + session.driver.getSessionId() + " reached its reuse limit (" + maxReuse + ")");
+            discard(session);
+            precreate();
+            return;
+        }
+
+        if (!isHealthy(session)) {
+            discard(session);
+            precreate();
+            return;
+        }
+
+        synchronized (idleSessions) {
+            idleSessions.push(session);
+        }
+    }
+
+    /**
+     * Quit a session without returning it to the pool
+     */
+    public void discard(PooledSession session) {
+        if (session == null) {
+            return;
+        }
+        discardedSessions.incrementAndGet();
+        try {
+            sessionCloser.accept(session.driver);
+            LogUtils.info("Pooled session quit after " + session.leaseCount + " lease(s)");
+        } catch (Exception e) {
+            LogUtils.warn("Failed to quit pooled session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Quit every idle session and the unused pre-created one, called once the suite ends
+     */
+    public void shutdown() {
+        discardIdleSessions();
+        LogUtils.info("Session pool shut down - " + getStats());
+    }
+
+    /**
+     * Quit every idle session and the pre-created one, e.g. before the device state is replaced
+     * by an emulator snapshot that none of them would survive
+     */
+    public void discardIdleSessions() {
+        CompletableFuture<PooledSession> spare;
+        synchronized (idleSessions) {
+            spare = spareSession;
+            spareSession = null;
+        }
+        if (spare != null) {
+            try {
+                PooledSession unused = spare.get(DeviceConfig.getAppiumServerStartTimeout(), TimeUnit.SECONDS);
+                precreatedWasted.incrementAndGet();
+                discard(unused);
+            } catch (Exception e) {
+                LogUtils.warn("Pre-created session was not usable: " + e.getMessage());
+            }
+        }
+
+        PooledSession session;
+        while ((session = pollIdle()) != null) {
+            discard(session);
+        }
+    }
+
+    /**
+     * Get pool usage statistics
+     */
+    public String getStats() {
+        return "created=" + createdSessions.get() +
+                ", reused=" + reusedSessions.get() +
+                ", discarded=" + discardedSessions.get();
+    }
+
+    /**
+     * Get run-wide pre-creation statistics, including the session start time tests did not wait for
+     */
+    public static String getPrecreationStats() {
+        return "pre-created used=" + precreatedUsed.get() +
+                ", wasted=" + precreatedWasted.get() +
+                ", hidden creation latency=" + hiddenCreationMs.get() + " ms";
+    }
+
+    private PooledSession createSession() {
+        long start = System.currentTimeMillis();
+        AndroidDriver driver = sessionFactory.get();
+        createdSessions.incrementAndGet();
+        return new PooledSession(driver, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Hand over the pre-created session, waiting for it if it is still starting.
+     * Returns null when there is none or its creation failed, so the caller creates one itself.
+     */
+    private PooledSession takeSpareSession() {
+        CompletableFuture<PooledSession> spare;
+        synchronized (idleSessions) {
+            spare = spareSession;
+            spareSession = null;
+        }
+        if (spare == null) {
+            return null;
+        }
+
+        long waitStart = System.currentTimeMillis();
+        try {
+            PooledSession session = spare.join();
+            long waitedMs = System.currentTimeMillis() - waitStart;
+            long hiddenMs = Math.max(0, session.creationMs - waitedMs);
+            precreatedUsed.incrementAndGet();
+            hiddenCreationMs.addAndGet(hiddenMs);
+            LogUtils.info("Took over pre-created session " + session.driver.getSessionId() + " - waited " +
+                    waitedMs + " ms of its " + session.creationMs + " ms start, " + hiddenMs + " ms hidden");
+            return session;
+        } catch (Exception e) {
+            LogUtils.warn("Background session creation failed, creating one now: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private PooledSession pollIdle() {
+        synchronized (idleSessions) {
+            return idleSessions.poll();
+        }
+    }
+
+    /**
+     * A session is healthy when the server still knows it and it can answer a cheap app query
+     */
+    private boolean isHealthy(PooledSession session) {
+        try {
+            if (session.driver.getSessionId() == null) {
+                return false;
+            }
+            session.driver.queryAppState(AppConfig.getAppPackage());
+            return true;
+        } catch (Exception e) {
+            LogUtils.warn("Session health check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Bring the app to the state the leasing test needs without recreating the session
+     */
+    private boolean resetApp(PooledSession session, AppResetPolicy policy) {
+        try {
+            AppResetEngine.apply(session.driver, policy);
+            return true;
+        } catch (Exception e) {
+            LogUtils.warn("App reset " + policy + " failed, session will be discarded: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package driver;
 
 import config.DeviceCapabilityFactory;
+import config.PortAllocator;
 import config.VirtualDeviceConfig;
+import io.appium.java_client.AppiumClientConfig;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import utils.LogUtils;
+import utils.ScreenGeneration;
+import utils.TimeAccounting;
 
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -13,52 +17,79 @@ import java.time.Duration;
 
 /**
  * Thread Local Driver Manager
- * Manages AndroidDriver instances for parallel test execution across identical devices
+ * Manages AndroidDriver instances for parallel test execution across identical devices.
+ * The driver and device are published through DriverContext, so page objects and utilities use them too.
  *
  * @author Ciye Test Team
  */
 public class ThreadLocalDriverManager {
 
-    private static final ThreadLocal<AndroidDriver> driverThreadLocal = new ThreadLocal<>();
-    private static final ThreadLocal<String> deviceIdThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<PortAllocator.SessionPorts> portsThreadLocal = new ThreadLocal<>();
 
     public static void initializeDriver(String deviceId) {
+        AndroidDriver driver = null;
         try {
             LogUtils.info("Initializing driver for device: " + deviceId + " on thread: " + Thread.currentThread().getName());
 
-            deviceIdThreadLocal.set(deviceId);
+            PortAllocator.SessionPorts ports = PortAllocator.allocate(deviceId);
+            portsThreadLocal.set(ports);
 
-            UiAutomator2Options options = DeviceCapabilityFactory.createCapabilities(deviceId);
-            String serverUrl = VirtualDeviceConfig.getAppiumServerUrl(deviceId);
+            UiAutomator2Options options = DeviceCapabilityFactory.createCapabilities(deviceId, ports);
+            String serverUrl = AppiumServerPool.getInstance().getServerUrl(deviceId);
 
-            AndroidDriver driver = new AndroidDriver(
-                    new URI(serverUrl).toURL(),
+            driver = new AndroidDriver(
+                    AppiumClientConfig.defaultConfig()
+                            .baseUrl(new URI(serverUrl).toURL())
+                            .withFilter(TimeAccounting.httpFilter().andThen(ScreenGeneration.httpFilter())),
                     options
             );
 
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            driverThreadLocal.set(driver);
+            DriverContext.bind(driver, deviceId);
 
             VirtualDeviceConfig.DeviceInfo deviceInfo = VirtualDeviceConfig.getDeviceInfo(deviceId);
             LogUtils.info("Driver initialized successfully for device: " + deviceId +
                     " (Model: " + deviceInfo.model + ", Resolution: " + deviceInfo.resolution + ")");
 
-        } catch (MalformedURLException | URISyntaxException e) {
+        } catch (MalformedURLException | URISyntaxException | RuntimeException e) {
+            // Also on e.g. a SessionNotCreatedException, so a failed start keeps neither ports nor the device
             LogUtils.error("Failed to initialize driver for device: " + deviceId + " - " + e.getMessage());
+            releaseFailedStart(deviceId, driver);
             throw new RuntimeException("Driver initialization failed for device: " + deviceId, e);
         }
     }
 
+    /**
+     * Free what a failed initializeDriver took: the session if one was created, the host ports and the
+     * thread's lease of the device
+     */
+    private static void releaseFailedStart(String deviceId, AndroidDriver driver) {
+        try {
+            if (driver != null) {
+                DriverContext.unbind();
+                driver.quit();
+            }
+        } catch (Exception e) {
+            LogUtils.warn("Failed to quit driver after failed initialization: " + e.getMessage());
+        } finally {
+            PortAllocator.release(portsThreadLocal.get());
+            portsThreadLocal.remove();
+            DeviceLeaseScheduler.DeviceLease lease = DeviceLeaseScheduler.getInstance().getCurrentLease();
+            if (lease != null && deviceId.equals(lease.getDeviceId())) {
+                DeviceLeaseScheduler.getInstance().release();
+            }
+        }
+    }
+
     public static AndroidDriver getDriver() {
-        AndroidDriver driver = driverThreadLocal.get();
-        if (driver == null) {
+        if (!DriverContext.isBound()) {
             throw new RuntimeException("Driver not initialized for current thread: " + Thread.currentThread().getName());
         }
-        return driver;
+        return DriverContext.getDriver();
     }
 
     public static String getCurrentDeviceId() {
-        String deviceId = deviceIdThreadLocal.get();
+        String deviceId = DriverContext.isBound() ? DriverContext.getDeviceId() : null;
         if (deviceId == null) {
             throw new RuntimeException("Device ID not set for current thread: " + Thread.currentThread().getName());
         }
@@ -67,7 +98,7 @@ public class ThreadLocalDriverManager {
 
     public static void quitDriver() {
         try {
-            AndroidDriver driver = driverThreadLocal.get();
+            AndroidDriver driver = DriverContext.isBound() ? DriverContext.getDriver() : null;
             String deviceId = getCurrentDeviceId();
 
             if (driver != null) {
@@ -79,13 +110,14 @@ public class ThreadLocalDriverManager {
         } catch (Exception e) {
             LogUtils.error("Failed to quit driver: " + e.getMessage());
         } finally {
-            driverThreadLocal.remove();
-            deviceIdThreadLocal.remove();
+            PortAllocator.release(portsThreadLocal.get());
+            portsThreadLocal.remove();
+            DriverContext.unbind();
         }
     }
 
     public static boolean isDriverInitialized() {
-        return driverThreadLocal.get() != null;
+        return DriverContext.isBound();
     }
 
     public static VirtualDeviceConfig.DeviceInfo getCurrentDeviceInfo() {
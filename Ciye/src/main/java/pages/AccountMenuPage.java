@@ -5,8 +5,10 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import utils.AllureUtils;
+import utils.HierarchySnapshot;
+import utils.LocatorOptimizer;
 import utils.LogUtils;
-import utils.WaitUtils;
+import utils.SpatialQuery;
 
 /**
  * Profile Page Object
@@ -31,12 +33,17 @@ public class AccountMenuPage extends BasePage {
     private final By deleteUserProfileButton = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.widget.TextView\").text(\"MT\")"
     );
+    // Candidates of the profile button, told apart by position
+    private final By clickableViewGroups = AppiumBy.androidUIAutomator(
+            "new UiSelector().className(\"android.view.ViewGroup\").clickable(true)"
+    );
+
     private final By personalInformationButton = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.view.ViewGroup\").description(\"Personal Information\").clickable(true)"
     );    // Menu Elements
-    private final By logoutButton = AppiumBy.xpath(
+    private final By logoutButton = LocatorOptimizer.optimize("AccountMenuPage.logoutButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Log out']"
-    );
+    ));
     private final By deleteAccountButton = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.widget.TextView\").text(\"Delete account\")"
     );
@@ -47,6 +54,12 @@ public class AccountMenuPage extends BasePage {
 
     // Home/Progress Page Elements
     private final By homeRoot = AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").text(\"Latest Swim\")");
+
+    @Override
+    protected By getReadinessAnchor() {
+        return homeRoot;
+    }
+
     /**
      * Check if user is on home/progress page
      */
@@ -66,40 +79,27 @@ public class AccountMenuPage extends BasePage {
         AllureUtils.step("Tapping profile button");
 
         try {
-            // Wait for home screen to appear
-            WaitUtils.waitForElementPresent(homeRoot, 10);
-
-            // Wait a bit for initial UI to settle
-            Thread.sleep(500);
-
-            // Find ALL clickable ViewGroups
-            java.util.List<org.openqa.selenium.WebElement> clickableElements =
-                    driver.findElements(AppiumBy.androidUIAutomator(
-                            "new UiSelector().className(\"android.view.ViewGroup\").clickable(true)"
-                    ));
+            // Wait for home screen to appear and settle
+            waitForPageLoad(homeRoot);
 
+            // Bounds of all clickable ViewGroups come with one page source
+            SpatialQuery clickableElements = SpatialQuery.of(HierarchySnapshot.capture(), clickableViewGroups);
             LogUtils.info("Found " + clickableElements.size() + " clickable ViewGroups");
 
-            // Find the element in TOP-RIGHT corner (x > 1200, y < 400)
-            for (org.openqa.selenium.WebElement element : clickableElements) {
-                org.openqa.selenium.Rectangle rect = element.getRect();
-                int x = rect.getX();
-                int y = rect.getY();
-
-                // Profile button is in top-right: x > 1200, y between 150-350
-                if (x > 1200 && y > 150 && y < 400) {
-                    LogUtils.info("Found profile button at position: x=" + x + ", y=" + y);
-                    element.click();
-                    waitForPageLoad();
-                    return this;
-                }
+            // Profile button is the clickable element closest to the top-right corner
+            HierarchySnapshot.Node profile = clickableElements
+                    .inRegion(SpatialQuery.Region.TOP_RIGHT)
+                    .nearestToCorner(SpatialQuery.Region.TOP_RIGHT)
+                    .first();
+            if (profile == null) {
+                throw new RuntimeException("Profile button not found in top-right corner");
             }
 
-            throw new RuntimeException("Profile button not found in top-right corner");
+            LogUtils.info("Found profile button at " + profile.getBounds());
+            tap(profile.getCenter());
+            waitForPageLoad(personalInformationButton);
+            return this;
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while waiting", e);
         } catch (Exception e) {
             LogUtils.error("Failed to click profile button: " + e.getMessage());
             throw new RuntimeException("Could not find profile button", e);
@@ -112,21 +112,18 @@ public class AccountMenuPage extends BasePage {
     public void debugFindProfileButton() {
         try {
             // Wait for home screen
-            WaitUtils.waitForElementPresent(homeRoot, 10);
-            Thread.sleep(500);
+            waitForPageLoad(homeRoot);
 
-            // Find all clickable ViewGroups
-            java.util.List<org.openqa.selenium.WebElement> clickableElements =
-                    driver.findElements(AppiumBy.androidUIAutomator(
-                            "new UiSelector().className(\"android.view.ViewGroup\").clickable(true)"
-                    ));
+            // Find all clickable ViewGroups with their bounds in one page source
+            java.util.List<HierarchySnapshot.Node> clickableElements =
+                    SpatialQuery.of(HierarchySnapshot.capture(), clickableViewGroups).list();
 
             LogUtils.info("===== DEBUG: Found " + clickableElements.size() + " clickable ViewGroups =====");
 
             for (int i = 0; i < clickableElements.size(); i++) {
-                org.openqa.selenium.WebElement el = clickableElements.get(i);
-                org.openqa.selenium.Rectangle rect = el.getRect();
-                String desc = el.getAttribute("content-desc");
+                HierarchySnapshot.Node el = clickableElements.get(i);
+                org.openqa.selenium.Rectangle rect = el.getBounds();
+                String desc = el.getContentDesc();
 
                 LogUtils.info(String.format("Element %d: x=%d, y=%d, width=%d, height=%d, desc='%s'",
                         i, rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(), desc));
@@ -144,7 +141,7 @@ public class AccountMenuPage extends BasePage {
     public AccountMenuPage clickDeleteUserProfile() {
         AllureUtils.step("Tapping profile button for delete user (MT)");
         clickElement(deleteUserProfileButton);
-        waitForPageLoad();
+        waitForPageLoad(personalInformationButton);
         return this;
     }
     /**
@@ -165,8 +162,9 @@ public class AccountMenuPage extends BasePage {
 
         LogUtils.info("Tapped Personal Information at coordinates (720, 1243)");
 
-        waitForPageLoad();
-        return new Personal_InformationPage();
+        Personal_InformationPage personalInformationPage = new Personal_InformationPage();
+        personalInformationPage.waitUntilReady();
+        return personalInformationPage;
     }
 
     /**
@@ -176,25 +174,14 @@ public class AccountMenuPage extends BasePage {
     public WelcomePage logout() {
         AllureUtils.step("Scrolling to and tapping logout button");
 
-        scrollToBottom();
-
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Scrolls until the button is visible, in one gesture call once the menu's extent is known
+        HierarchySnapshot.Node logout = scrollTo(logoutButton);
+        tap(logout.getCenter());
 
-        // Tap logout button at fixed coordinates (center of bounds [614,2754][826,2831])
-        driver.executeScript("mobile: clickGesture", java.util.Map.of(
-                "x", 720,  // (614 + 826) / 2
-                "y", 2792  // (2754 + 2831) / 2
-        ));
-
-        LogUtils.info("Tapped logout button at coordinates (720, 2792)");
-
-        waitForPageLoad();
+        WelcomePage welcomePage = new WelcomePage();
+        welcomePage.waitUntilReady();
         LogUtils.info("User logged out successfully");
-        return new WelcomePage();
+        return welcomePage;
     }
 
     /**
@@ -205,7 +192,7 @@ public class AccountMenuPage extends BasePage {
         AllureUtils.step("Scrolling to and tapping delete account button");
         scrollToText("Delete account");
         clickElement(deleteAccountButton);
-        waitForPageLoad();
+        waitForPageLoad(deleteEmailField);
         return this;
     }
 
@@ -226,41 +213,10 @@ public class AccountMenuPage extends BasePage {
     public WelcomePage confirmAccountDeletion() {
         AllureUtils.step("Tapping confirm delete button");
         clickElement(confirmDeleteButton);
-        waitForPageLoad();
+        WelcomePage welcomePage = new WelcomePage();
+        welcomePage.waitUntilReady();
         LogUtils.info("Account deletion confirmed");
-        return new WelcomePage();
-    }
-
-    /**
-     * Scroll profile menu to bottom
-     */
-    @Step("Scroll to bottom of profile menu")
-    private void scrollToBottom() {
-        AllureUtils.step("Scrolling profile menu to bottom");
-        try {
-            int width = driver.manage().window().getSize().getWidth();
-            int height = driver.manage().window().getSize().getHeight();
-
-            int startX = width / 2;
-            int startY = (int)(height * 0.8);
-            int endY = (int)(height * 0.2);
-
-            // Perform 3 drag gestures to scroll down
-            for (int i = 0; i < 3; i++) {
-                driver.executeScript("mobile: dragGesture", java.util.Map.of(
-                        "startX", startX,
-                        "startY", startY,
-                        "endX", startX,
-                        "endY", endY
-                ));
-                Thread.sleep(300);
-            }
-
-            LogUtils.info("Scrolled to bottom of profile menu");
-
-        } catch (Exception e) {
-            LogUtils.warn("Scroll failed: " + e.getMessage());
-        }
+        return welcomePage;
     }
 
     /**
@@ -1,13 +1,23 @@
 package pages;
 
-import driver.DriverManager;
+import driver.DriverContext;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
 import org.openqa.selenium.WebElement;
+import utils.ElementCache;
+import utils.HierarchySnapshot;
+import utils.LocatorTranslator;
 import utils.LogUtils;
+import utils.ScreenReadiness;
+import utils.ScrollService;
+import utils.TimeAccounting;
 import utils.WaitUtils;
 
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * Base Page Class
  * Contains common methods used across all page objects
@@ -19,22 +29,37 @@ public class BasePage {
     protected AndroidDriver driver;
 
     public BasePage() {
-        this.driver = DriverManager.getInstance().getDriver();
+        this.driver = DriverContext.getDriver();
     }
 
     /**
-     * Find element with wait
+     * Find element with wait, reusing the handle found earlier on the same screen
      */
     protected WebElement findElement(By locator) {
-        return WaitUtils.waitForElementPresent(locator);
+        return ElementCache.get(locator, WaitUtils::waitForElementPresent);
+    }
+
+    /**
+     * Run an action on an element, reusing the handle found earlier on the same screen and finding it
+     * again when the handle went stale
+     */
+    protected void withElement(By locator, Consumer<WebElement> action) {
+        ElementCache.apply(locator, WaitUtils::waitForElementPresent, element -> {
+            action.accept(element);
+            return null;
+        });
     }
 
     /**
      * Find element and click
      */
     protected void clickElement(By locator) {
-        WebElement element = WaitUtils.waitForElementClickable(locator);
-        element.click();
+        ElementCache.apply(locator, WaitUtils::waitForElementClickable, element -> {
+            element.click();
+            return null;
+        });
+        // A click usually leaves the screen, so its element is not assumed to be there anymore
+        ElementCache.evict(locator);
         LogUtils.info("Clicked element: " + locator);
     }
 
@@ -69,9 +94,10 @@ public class BasePage {
      * Find element and enter text
      */
     protected void enterText(By locator, String text) {
-        WebElement element = WaitUtils.waitForElementPresent(locator);
-        element.clear();
-        element.sendKeys(text);
+        withElement(locator, element -> {
+            element.clear();
+            element.sendKeys(text);
+        });
         LogUtils.info("Entered text '" + text + "' in element: " + locator);
     }
 
@@ -79,8 +105,7 @@ public class BasePage {
      * Get element text
      */
     protected String getElementText(By locator) {
-        WebElement element = WaitUtils.waitForElementPresent(locator);
-        String text = element.getText();
+        String text = ElementCache.apply(locator, WaitUtils::waitForElementPresent, WebElement::getText);
         LogUtils.info("Got text '" + text + "' from element: " + locator);
         return text;
     }
@@ -89,15 +114,9 @@ public class BasePage {
      * Check if element is displayed
      */
     protected boolean isElementDisplayed(By locator) {
-        try {
-            WebElement element = WaitUtils.waitForElementVisible(locator, 10);
-            boolean isDisplayed = element.isDisplayed();
-            LogUtils.info("Element visibility check - " + locator + ": " + isDisplayed);
-            return isDisplayed;
-        } catch (Exception e) {
-            LogUtils.info("Element not visible: " + locator);
-            return false;
-        }
+        boolean isDisplayed = WaitUtils.isElementDisplayed(locator);
+        LogUtils.info("Element visibility check - " + locator + ": " + isDisplayed);
+        return isDisplayed;
     }
 
     /**
@@ -109,15 +128,26 @@ public class BasePage {
         return isPresent;
     }
 
+    /**
+     * Read an attribute of an element from the current screen's snapshot, shared by consecutive reads while
+     * the screen is unchanged; falls back to finding the element when the snapshot does not have it
+     */
+    protected String readAttribute(By locator, String attribute) {
+        if (HierarchySnapshot.isSupported(locator)) {
+            String value = HierarchySnapshot.current().getAttribute(locator, attribute);
+            if (value != null) {
+                return value;
+            }
+        }
+        return driver.findElement(locator).getAttribute(attribute);
+    }
+
     /**
      * Scroll until element with given text is visible
      */
     protected void scrollToText(String visibleText) {
         try {
-            driver.findElement(AppiumBy.androidUIAutomator(
-                    "new UiScrollable(new UiSelector().scrollable(true))" +
-                            ".scrollIntoView(new UiSelector().text(\"" + visibleText + "\"))"
-            ));
+            scrollTo(AppiumBy.xpath("//*[@text=" + LocatorTranslator.literal(visibleText) + "]"));
             LogUtils.info("Scrolled to text: " + visibleText);
         } catch (Exception e) {
             LogUtils.error("Failed to scroll to text: " + visibleText);
@@ -125,6 +155,20 @@ public class BasePage {
         }
     }
 
+    /**
+     * Scroll this page until an element matching the locator is visible, and get it from the page source
+     */
+    protected HierarchySnapshot.Node scrollTo(By locator) {
+        return ScrollService.scrollTo(getClass().getSimpleName(), locator);
+    }
+
+    /**
+     * Scroll this page to the end of its list
+     */
+    protected void scrollToEnd() {
+        ScrollService.scrollToEnd(getClass().getSimpleName());
+    }
+
     /**
      * Hide soft keyboard
      */
@@ -132,7 +176,7 @@ public class BasePage {
         try {
             driver.hideKeyboard();
             LogUtils.info("Keyboard hidden");
-            Thread.sleep(500); // Brief wait for keyboard to disappear
+            pause(500); // Brief wait for keyboard to disappear
         } catch (Exception e) {
             LogUtils.info("Keyboard was not showing or already hidden");
         }
@@ -143,10 +187,7 @@ public class BasePage {
      */
     protected void scrollToDescription(String description) {
         try {
-            driver.findElement(AppiumBy.androidUIAutomator(
-                    "new UiScrollable(new UiSelector().scrollable(true))" +
-                            ".scrollIntoView(new UiSelector().description(\"" + description + "\"))"
-            ));
+            scrollTo(AppiumBy.accessibilityId(description));
             LogUtils.info("Scrolled to description: " + description);
         } catch (Exception e) {
             LogUtils.error("Failed to scroll to description: " + description);
@@ -163,13 +204,45 @@ public class BasePage {
     }
 
     /**
-     * Wait for page to load
+     * Tap a point of the screen
+     */
+    protected void tap(Point point) {
+        driver.executeScript("mobile: clickGesture", Map.of("x", point.getX(), "y", point.getY()));
+        LogUtils.info("Tapped at (" + point.getX() + ", " + point.getY() + ")");
+    }
+
+    /**
+     * Pause for a fixed time, accounted as sleep time of the running test
+     */
+    protected void pause(long millis) {
+        TimeAccounting.sleep(millis);
+    }
+
+    /**
+     * Wait for page to load (until the UI hierarchy stops changing)
      */
     protected void waitForPageLoad() {
-        try {
-            Thread.sleep(2000); // Basic wait for page transitions
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        ScreenReadiness.await(null);
+    }
+
+    /**
+     * Wait for page to load until the anchor is present and the UI hierarchy stops changing
+     */
+    protected void waitForPageLoad(By anchor) {
+        ScreenReadiness.await(anchor);
+    }
+
+    /**
+     * Get the element that shows this page is ready, null when the page has none
+     */
+    protected By getReadinessAnchor() {
+        return null;
+    }
+
+    /**
+     * Wait until this page is ready
+     */
+    public void waitUntilReady() {
+        waitForPageLoad(getReadinessAnchor());
     }
 }
\ No newline at end of file
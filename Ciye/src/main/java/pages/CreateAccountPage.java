@@ -5,6 +5,7 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import testdata.TestData;
 import utils.AllureUtils;
+import utils.LocatorOptimizer;
 import utils.LogUtils;
 import utils.WaitUtils;
 
@@ -19,9 +20,9 @@ public class CreateAccountPage extends BasePage {
     // Page Elements
     private final By emailField = AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.EditText\").text(\"Email\")");
     private final By passwordField = AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.EditText\").text(\"Password\")");
-    private final By createAccountButton = AppiumBy.xpath("//android.widget.TextView[@text='Create Account']/parent::android.view.ViewGroup");
-    private final By signUpWithGoogleButton = AppiumBy.xpath("//android.widget.TextView[@text='Sign up with Google']/parent::android.view.ViewGroup");
-    private final By privacyPolicyLink = AppiumBy.xpath("//android.widget.TextView[@text='Privacy Policy']/parent::android.view.ViewGroup");
+    private final By createAccountButton = LocatorOptimizer.optimize("CreateAccountPage.createAccountButton", AppiumBy.xpath("//android.widget.TextView[@text='Create Account']/parent::android.view.ViewGroup"));
+    private final By signUpWithGoogleButton = LocatorOptimizer.optimize("CreateAccountPage.signUpWithGoogleButton", AppiumBy.xpath("//android.widget.TextView[@text='Sign up with Google']/parent::android.view.ViewGroup"));
+    private final By privacyPolicyLink = LocatorOptimizer.optimize("CreateAccountPage.privacyPolicyLink", AppiumBy.xpath("//android.widget.TextView[@text='Privacy Policy']/parent::android.view.ViewGroup"));
     private final By backButton = AppiumBy.accessibilityId("Back");
 
     // Error Message Elements
@@ -35,6 +36,11 @@ public class CreateAccountPage extends BasePage {
     private final By confirmDialogOkButton = AppiumBy.androidUIAutomator("new UiSelector().text(\"OK\")"); // Replace with actual locator
     private final By termsAndConditionsCheckbox = AppiumBy.androidUIAutomator("new UiSelector().checkable(true)"); // Replace with actual locator
 
+    @Override
+    protected By getReadinessAnchor() {
+        return createAccountButton;
+    }
+
     /**
      * Check if create account page is displayed
      */
@@ -107,8 +113,9 @@ public class CreateAccountPage extends BasePage {
     public WelcomePage clickBack() {
         AllureUtils.step("Tapping back button");
         clickElement(backButton);
-        waitForPageLoad();
-        return new WelcomePage();
+        WelcomePage welcomePage = new WelcomePage();
+        welcomePage.waitUntilReady();
+        return welcomePage;
     }
 
     /**
@@ -1,13 +1,19 @@
 package pages;
 
+import config.AppConfig;
 import io.appium.java_client.AppiumBy;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import testdata.TestData;
 import utils.AllureUtils;
+import utils.LocatorOptimizer;
 import utils.LogUtils;
 import utils.WaitUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Login Page Object
  * Contains elements and methods for the Login screen
@@ -16,18 +22,39 @@ import utils.WaitUtils;
  */
 public class LoginPage extends BasePage {
 
+    /**
+     * What the app showed after tapping login
+     */
+    public enum LoginOutcome {
+        HOME,
+        WRONG_CREDENTIALS,
+        EMPTY_FIELDS,
+        EMPTY_EMAIL,
+        UNKNOWN
+    }
+
     // Page Elements
     private final By emailField = AppiumBy.androidUIAutomator("new UiSelector().text(\"Email\")");
     private final By passwordField = AppiumBy.androidUIAutomator("new UiSelector().text(\"Password\")");
-    private final By loginButton = By.xpath("//android.view.ViewGroup[@content-desc='Log in']/android.view.ViewGroup");
+    private final By loginButton = LocatorOptimizer.optimize("LoginPage.loginButton", By.xpath("//android.view.ViewGroup[@content-desc='Log in']/android.view.ViewGroup"));
 
     // Error Message Elements
-    private final By emptyEmailError = By.xpath("//android.widget.TextView[@text='Please enter a valid email address']");
+    private final By emptyEmailError = LocatorOptimizer.optimize("LoginPage.emptyEmailError", By.xpath("//android.widget.TextView[@text='Please enter a valid email address']"));
     private final By emptyFieldsError = AppiumBy.androidUIAutomator("new UiSelector().textContains(\"Please fill in all fields!\")");
     private final By wrongCredentialsError = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.widget.TextView\").text(\"Could not login. Wrong password or username.\")"
     );
 
+    // Outcome Elements
+    private final By homeRoot = AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").text(\"Latest Swim\")");
+
+    private LoginOutcome loginOutcome;
+
+    @Override
+    protected By getReadinessAnchor() {
+        return emailField;
+    }
+
     /**
      * Check if login page is displayed
      */
@@ -67,7 +94,48 @@ public class LoginPage extends BasePage {
     public void clickLogin() {
         AllureUtils.step("Tapping login button");
         clickElement(loginButton);
-        waitForPageLoad();
+        loginOutcome = waitForLoginOutcome();
+    }
+
+    /**
+     * Get the outcome of the last login attempt, null before the first one
+     */
+    public LoginOutcome getLoginOutcome() {
+        return loginOutcome;
+    }
+
+    /**
+     * Wait for whichever login outcome appears first
+     */
+    private LoginOutcome waitForLoginOutcome() {
+        Map<LoginOutcome, By> outcomes = new LinkedHashMap<>();
+        outcomes.put(LoginOutcome.HOME, homeRoot);
+        outcomes.put(LoginOutcome.WRONG_CREDENTIALS, wrongCredentialsError);
+        outcomes.put(LoginOutcome.EMPTY_FIELDS, emptyFieldsError);
+        outcomes.put(LoginOutcome.EMPTY_EMAIL, emptyEmailError);
+        try {
+            LoginOutcome outcome = WaitUtils.waitForAnyOf(outcomes, AppConfig.getWaitTimeout());
+            LogUtils.info("Login outcome: " + outcome);
+            return outcome;
+        } catch (TimeoutException e) {
+            LogUtils.warn("No known login outcome appeared: " + e.getMessage());
+            return LoginOutcome.UNKNOWN;
+        }
+    }
+
+    /**
+     * Check if an error is displayed; once the login outcome is known the screen has settled, so a
+     * single probe answers without waiting
+     */
+    private boolean isErrorDisplayed(By error, int timeoutInSeconds) {
+        if (loginOutcome != null && loginOutcome != LoginOutcome.UNKNOWN) {
+            return WaitUtils.isElementPresent(error);
+        }
+        try {
+            return WaitUtils.waitForElementVisible(error, timeoutInSeconds).isDisplayed();
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     /**
@@ -98,11 +166,7 @@ public class LoginPage extends BasePage {
     @Step("Verify empty email error is displayed")
     public boolean isEmptyEmailErrorDisplayed() {
         AllureUtils.step("Checking for empty email validation error");
-        try {
-            return WaitUtils.waitForElementVisible(emptyEmailError).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isErrorDisplayed(emptyEmailError, AppConfig.getWaitTimeout());
     }
 
     /**
@@ -111,11 +175,7 @@ public class LoginPage extends BasePage {
     @Step("Verify empty fields error is displayed")
     public boolean isEmptyFieldsErrorDisplayed() {
         AllureUtils.step("Checking for empty fields validation error");
-        try {
-            return WaitUtils.waitForElementVisible(emptyFieldsError, 5).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isErrorDisplayed(emptyFieldsError, 5);
     }
 
     /**
@@ -124,11 +184,7 @@ public class LoginPage extends BasePage {
     @Step("Verify wrong credentials error is displayed")
     public boolean isWrongCredentialsErrorDisplayed() {
         AllureUtils.step("Checking for wrong credentials error");
-        try {
-            return WaitUtils.waitForElementVisible(wrongCredentialsError, 5).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isErrorDisplayed(wrongCredentialsError, 5);
     }
 
     /**
@@ -138,7 +194,8 @@ public class LoginPage extends BasePage {
     public WelcomePage navigateBackToWelcome() {
         AllureUtils.step("Navigating back to welcome page");
         navigateBack();
-        waitForPageLoad();
-        return new WelcomePage();
+        WelcomePage welcomePage = new WelcomePage();
+        welcomePage.waitUntilReady();
+        return welcomePage;
     }
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package pages;
+
+import config.AppConfig;
+import driver.AppResetEngine;
+import driver.AppResetPolicy;
+import driver.AuthSnapshotManager;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import io.qameta.allure.Step;
+import testdata.TestData;
+import utils.AllureUtils;
+import utils.LogUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Navigator
+ * Opens target screens directly through a deep link (mobile: deepLink) or an activity intent
+ * (mobile: startActivity) configured in config.properties, and falls back to walking the UI
+ * path from the welcome screen when no shortcut is configured or the shortcut does not land.
+ * The UI path skips the login when the test already starts logged in (see {@link #logInAs(String)}).
+ *
+ * @author Ciye Test Team
+ */
+public class Navigator {
+
+    /**
+     * Screens the navigator can open; each one is reached through its parent when it has no shortcut
+     */
+    public enum Screen {
+        HOME("home", null),
+        PERSONAL_INFORMATION("personal.information", HOME),
+        NAME_EDIT("name.edit", PERSONAL_INFORMATION),
+        GENDER_PICKER("gender.picker", PERSONAL_INFORMATION);
+
+        private final String configKey;
+        private final Screen parent;
+
+        Screen(String configKey, Screen parent) {
+            this.configKey = configKey;
+            this.parent = parent;
+        }
+    }
+
+    // Shortcuts the driver or the app rejected are not retried for the rest of the run
+    private static final Set<Screen> unsupportedShortcuts = ConcurrentHashMap.newKeySet();
+
+    // Set once the current test's app shows the home screen of a logged-in user
+    private static final ThreadLocal<Boolean> loggedInThreadLocal = ThreadLocal.withInitial(() -> false);
+
+    private Navigator() {}
+
+    /**
+     * Open the home screen as the valid user
+     */
+    @Step("Open home screen")
+    public static AccountMenuPage openHome() {
+        open(Screen.HOME);
+        return new AccountMenuPage();
+    }
+
+    /**
+     * Open the Personal Information screen as the valid user
+     */
+    @Step("Open Personal Information screen")
+    public static Personal_InformationPage openPersonalInformation() {
+        open(Screen.PERSONAL_INFORMATION);
+        return new Personal_InformationPage();
+    }
+
+    /**
+     * Open the first and last name edit screen as the valid user
+     */
+    @Step("Open name edit screen")
+    public static Personal_InformationPage openNameEdit() {
+        open(Screen.NAME_EDIT);
+        return new Personal_InformationPage();
+    }
+
+    /**
+     * Open the gender picker as the valid user
+     */
+    @Step("Open gender picker")
+    public static Personal_InformationPage openGenderPicker() {
+        open(Screen.GENDER_PICKER);
+        return new Personal_InformationPage();
+    }
+
+    /**
+     * Start the current test logged in as a TestData user, restoring the auth snapshot of the
+     * installed APK when there is one and logging in through the UI (then capturing it) otherwise
+     */
+    @Step("Log in as {user}")
+    public static AccountMenuPage logInAs(String user) {
+        loggedInThreadLocal.set(false);
+        AndroidDriver driver = DriverContext.getDriver();
+
+        if (AppConfig.isAuthSnapshotEnabled()) {
+            if (AuthSnapshotManager.restore(user)) {
+                new AccountMenuPage().waitUntilReady();
+                if (new AccountMenuPage().isOnHomePage()) {
+                    loggedInThreadLocal.set(true);
+                    return new AccountMenuPage();
+                }
+                LogUtils.warn("Restored auth snapshot did not log in " + user + ", logging in through the UI");
+                AuthSnapshotManager.invalidate(user);
+            }
+        }
+
+        // The app may be anywhere after an earlier test or a stale restore, so log in from a clean start
+        AppResetEngine.apply(driver, AppResetPolicy.CLEAR_DATA);
+
+        AllureUtils.step("Logging in as " + user + " through the UI");
+        new WelcomePage().navigateToLogin().login(getEmail(user), getPassword(user));
+
+        // Only a confirmed login is captured, so a failed one never becomes the user's snapshot
+        AccountMenuPage homePage = new AccountMenuPage();
+        homePage.waitUntilReady();
+        if (!homePage.isOnHomePage()) {
+            throw new RuntimeException("Login as " + user + " did not reach the home screen");
+        }
+        if (AppConfig.isAuthSnapshotEnabled()) {
+            AuthSnapshotManager.capture(user);
+        }
+        loggedInThreadLocal.set(true);
+        return homePage;
+    }
+
+    /**
+     * Continue the current test with the app already logged in, e.g. after a checkpoint restored it;
+     * the app is relaunched when it is not on the home screen
+     */
+    @Step("Resume logged-in app")
+    public static AccountMenuPage resumeLoggedIn() {
+        AccountMenuPage homePage = new AccountMenuPage();
+        if (!homePage.isOnHomePage()) {
+            AndroidDriver driver = DriverContext.getDriver();
+            driver.terminateApp(AppConfig.getAppPackage());
+            driver.activateApp(AppConfig.getAppPackage());
+            homePage.waitUntilReady();
+            if (!homePage.isOnHomePage()) {
+                throw new RuntimeException("App did not reopen on the home screen of a logged-in user");
+            }
+        }
+        loggedInThreadLocal.set(true);
+        return homePage;
+    }
+
+    /**
+     * Forget the login state of the previous test on this thread, called before every test
+     */
+    public static void reset() {
+        loggedInThreadLocal.remove();
+    }
+
+    private static void open(Screen screen) {
+        long start = System.currentTimeMillis();
+        if (jump(screen)) {
+            LogUtils.info("Opened " + screen + " via shortcut in " + (System.currentTimeMillis() - start) + " ms");
+            return;
+        }
+
+        if (screen.parent != null) {
+            open(screen.parent);
+        }
+        walk(screen);
+        LogUtils.info("Opened " + screen + " via UI path in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Try the configured shortcut of a screen and verify it landed there
+     */
+    private static boolean jump(Screen screen) {
+        if (!AppConfig.isNavigationShortcutEnabled() || unsupportedShortcuts.contains(screen)) {
+            return false;
+        }
+        String deepLink = AppConfig.getNavigationDeepLink(screen.configKey);
+        String activity = AppConfig.getNavigationActivity(screen.configKey);
+        if (deepLink.isBlank() && activity.isBlank()) {
+            return false;
+        }
+
+        AndroidDriver driver = DriverContext.getDriver();
+        String appPackage = AppConfig.getAppPackage();
+        try {
+            if (!deepLink.isBlank()) {
+                AllureUtils.step("Opening " + screen + " via deep link " + deepLink);
+                driver.executeScript("mobile: deepLink", Map.of("url", deepLink, "package", appPackage));
+            } else {
+                AllureUtils.step("Opening " + screen + " via activity " + activity);
+                driver.executeScript("mobile: startActivity", Map.of("component", activity, "wait", true));
+            }
+        } catch (Exception e) {
+            LogUtils.warn("Shortcut to " + screen + " is not supported, using the UI path from now on: " + e.getMessage());
+            unsupportedShortcuts.add(screen);
+            return false;
+        }
+
+        if (isOn(screen)) {
+            return true;
+        }
+
+        // The shortcut may land anywhere (e.g. the login screen when signed out), so restart from launch
+        LogUtils.warn("Shortcut to " + screen + " did not land, falling back to the UI path");
+        driver.terminateApp(appPackage);
+        driver.activateApp(appPackage);
+        return false;
+    }
+
+    /**
+     * Take the UI step from the parent screen to the screen
+     */
+    private static void walk(Screen screen) {
+        switch (screen) {
+            case HOME:
+                if (!loggedInThreadLocal.get()) {
+                    new WelcomePage().navigateToLogin().loginWithValidCredentials();
+                }
+                break;
+            case PERSONAL_INFORMATION:
+                new AccountMenuPage().clickValidUserProfile().clickPersonalInformation();
+                break;
+            case NAME_EDIT:
+                new Personal_InformationPage().clickUserName();
+                break;
+            case GENDER_PICKER:
+                new Personal_InformationPage().clickGenderField();
+                break;
+        }
+    }
+
+    private static String getEmail(String user) {
+        switch (user) {
+            case "ValidUser":
+                return TestData.ValidUser.EMAIL;
+            case "DeleteUser":
+                return TestData.DeleteUser.EMAIL;
+            default:
+                throw new RuntimeException("Unknown TestData user: " + user);
+        }
+    }
+
+    private static String getPassword(String user) {
+        switch (user) {
+            case "ValidUser":
+                return TestData.ValidUser.PASSWORD;
+            case "DeleteUser":
+                return TestData.DeleteUser.PASSWORD;
+            default:
+                throw new RuntimeException("Unknown TestData user: " + user);
+        }
+    }
+
+    private static boolean isOn(Screen screen) {
+        switch (screen) {
+            case HOME:
+                return new AccountMenuPage().isOnHomePage();
+            case PERSONAL_INFORMATION:
+                return new Personal_InformationPage().isPersonalInformationPageDisplayed();
+            case NAME_EDIT:
+                return new Personal_InformationPage().isFirstandLastnamepageDisplayed();
+            case GENDER_PICKER:
+                return new Personal_InformationPage().isGenderPickerDisplayed();
+            default:
+                return false;
+        }
+    }
+}
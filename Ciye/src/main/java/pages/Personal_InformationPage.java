@@ -1,14 +1,18 @@
 package pages;
 
+import config.AppConfig;
 import io.appium.java_client.AppiumBy;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import utils.AllureUtils;
+import utils.HierarchySnapshot;
+import utils.LocatorOptimizer;
 import utils.LogUtils;
 import utils.WaitUtils;
+import java.time.Year;
 import java.util.Map;
-import static driver.DriverManager.getInstance;
 
 /**
  * Personal Information Page Object
@@ -32,8 +36,8 @@ public class Personal_InformationPage extends BasePage {
     private final By profilePictureEditButton = AppiumBy.androidUIAutomator("new UiSelector().descriptionContains(\"Edit photo\")");
 
     // Action Buttons
-    private final By logoutButton = AppiumBy.xpath("//android.widget.TextView[@text='Log out']/parent::android.view.ViewGroup");
-    private final By deleteAccountButton = AppiumBy.xpath("//android.widget.TextView[@text='Delete account']/parent::android.view.ViewGroup");
+    private final By logoutButton = LocatorOptimizer.optimize("Personal_InformationPage.logoutButton", AppiumBy.xpath("//android.widget.TextView[@text='Log out']/parent::android.view.ViewGroup"));
+    private final By deleteAccountButton = LocatorOptimizer.optimize("Personal_InformationPage.deleteAccountButton", AppiumBy.xpath("//android.widget.TextView[@text='Delete account']/parent::android.view.ViewGroup"));
     private final By backButton = AppiumBy.androidUIAutomator("new UiSelector().className(\"android.view.ViewGroup\").clickable(true).bounds(0,165,144,319)");
 
     //First & Last name page
@@ -43,9 +47,9 @@ public class Personal_InformationPage extends BasePage {
     private final By Names_lastNameField = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.widget.EditText\").instance(1)"
     );
-    private final By Names_confirmButton = AppiumBy.xpath(
+    private final By Names_confirmButton = LocatorOptimizer.optimize("Personal_InformationPage.Names_confirmButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Confirm']/parent::android.view.ViewGroup"
-    );
+    ));
     private final By Names_backButton = AppiumBy.androidUIAutomator(
             "new UiSelector().className(\"android.view.ViewGroup\").clickable(true).index(0)"
     );
@@ -63,27 +67,32 @@ public class Personal_InformationPage extends BasePage {
             "new UiSelector().text(\"TELL US YOUR YEAR OF BIRTH\")"
     );
 
-    private final By birthdayYearConfirmButton = AppiumBy.xpath(
+    private final By birthdayYearConfirmButton = LocatorOptimizer.optimize("Personal_InformationPage.birthdayYearConfirmButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Confirm']/parent::android.view.ViewGroup"
-    );
+    ));
 
     // Month Picker Elements
     private final By birthdayMonthPageTitle = AppiumBy.androidUIAutomator(
             "new UiSelector().text(\"TELL US YOUR MONTH OF BIRTH\")"
     );
 
-    private final By birthdayMonthConfirmButton = AppiumBy.xpath(
+    private final By birthdayMonthConfirmButton = LocatorOptimizer.optimize("Personal_InformationPage.birthdayMonthConfirmButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Confirm']/parent::android.view.ViewGroup"
-    );
+    ));
 
     // Day Picker Elements
     private final By birthdayDayPageTitle = AppiumBy.androidUIAutomator(
             "new UiSelector().text(\"TELL US YOUR DAY OF BIRTH\")"
     );
 
-    private final By birthdayDayConfirmButton = AppiumBy.xpath(
+    private final By birthdayDayConfirmButton = LocatorOptimizer.optimize("Personal_InformationPage.birthdayDayConfirmButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Confirm']/parent::android.view.ViewGroup"
-    );
+    ));
+
+    // Birthday wheels
+    private final WheelPicker yearPicker = new WheelPicker("year", 1900, Year.now().getValue());
+    private final WheelPicker monthPicker = new WheelPicker("month", 1, 12);
+    private final WheelPicker dayPicker = new WheelPicker("day", 1, 31);
 
     // ==================== Gender PICKER LOCATORS ====================
 
@@ -97,9 +106,9 @@ public class Personal_InformationPage extends BasePage {
 
     private final By genderPreferNotToSayOption = AppiumBy.accessibilityId("Prefer Not to Say");
 
-    private final By genderConfirmButton = AppiumBy.xpath(
+    private final By genderConfirmButton = LocatorOptimizer.optimize("Personal_InformationPage.genderConfirmButton", AppiumBy.xpath(
             "//android.widget.TextView[@text='Confirm']/parent::android.view.ViewGroup"
-    );
+    ));
 
     // ==================== PROFILE PICTURE LOCATORS ====================
 
@@ -116,6 +125,16 @@ public class Personal_InformationPage extends BasePage {
     private final By removePhotoOption = AppiumBy.accessibilityId("Remove current photo");
     private final By cancelPhotoOption = AppiumBy.accessibilityId("Cancel");
 
+    // First image of the system photo picker opened by "Camera roll"
+    private final By cameraRollFirstImage = AppiumBy.androidUIAutomator(
+            "new UiSelector().resourceIdMatches(\".*:id/(icon_thumbnail|thumbnail)\").instance(0)"
+    );
+
+    @Override
+    protected By getReadinessAnchor() {
+        return personalInfoHeader;
+    }
+
     /**
      * Check if personal information page is displayed
      */
@@ -134,7 +153,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage clickUserName() {
         AllureUtils.step("Tapping user name field");
         clickElement(userProfileName);
-        waitForPageLoad();
+        waitForPageLoad(Names_pageTitle);
         return this;
     }
 
@@ -145,7 +164,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage clickBirthdayField() {
         AllureUtils.step("Tapping birthday field");
         clickElement(userBirthdayField);
-        waitForPageLoad();
+        waitForPageLoad(birthdayYearPageTitle);
         return this;
     }
 
@@ -156,7 +175,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage clickGenderField() {
         AllureUtils.step("Tapping gender field");
         clickElement(userGenderField);
-        waitForPageLoad();
+        waitForPageLoad(genderPageTitle);
         return this;
     }
 
@@ -167,8 +186,9 @@ public class Personal_InformationPage extends BasePage {
     public WelcomePage clickLogout() {
         AllureUtils.step("Tapping logout button");
         clickElement(logoutButton);
-        waitForPageLoad();
-        return new WelcomePage();
+        WelcomePage welcomePage = new WelcomePage();
+        welcomePage.waitUntilReady();
+        return welcomePage;
     }
 
     /**
@@ -213,9 +233,7 @@ public class Personal_InformationPage extends BasePage {
     public String getUserFullName() {
         AllureUtils.step("Getting user name from profile field");
         try {
-            String contentDesc = getInstance().getDriver()
-                    .findElement(userProfileName)
-                    .getAttribute("content-desc");
+            String contentDesc = readAttribute(userProfileName, "content-desc");
 
             LogUtils.info("Raw content-desc for name: " + contentDesc);
 
@@ -240,9 +258,7 @@ public class Personal_InformationPage extends BasePage {
     public String getUserBirthday() {
         AllureUtils.step("Getting user birthday from profile field");
         try {
-            String contentDesc = getInstance().getDriver()
-                    .findElement(userBirthdayField)
-                    .getAttribute("content-desc");
+            String contentDesc = readAttribute(userBirthdayField, "content-desc");
 
             LogUtils.info("Raw content-desc for birthday: " + contentDesc);
 
@@ -268,9 +284,7 @@ public class Personal_InformationPage extends BasePage {
     public String getUserGender() {
         AllureUtils.step("Getting user gender from profile field");
         try {
-            String contentDesc = getInstance().getDriver()
-                    .findElement(userGenderField)
-                    .getAttribute("content-desc");
+            String contentDesc = readAttribute(userGenderField, "content-desc");
 
             LogUtils.info("Raw content-desc for gender: " + contentDesc);
 
@@ -295,9 +309,11 @@ public class Personal_InformationPage extends BasePage {
     @Step("Verify all personal information fields are present")
     public boolean areAllFieldsPresent() {
         AllureUtils.step("Checking if all personal information fields are present");
-        boolean namePresent = isElementPresent(userProfileName);
-        boolean birthdayPresent = isElementPresent(userBirthdayField);
-        boolean genderPresent = isElementPresent(userGenderField);
+        // One page source answers all three checks
+        HierarchySnapshot snapshot = HierarchySnapshot.current();
+        boolean namePresent = snapshot.has(userProfileName);
+        boolean birthdayPresent = snapshot.has(userBirthdayField);
+        boolean genderPresent = snapshot.has(userGenderField);
 
         LogUtils.info("Name field present: " + namePresent);
         LogUtils.info("Birthday field present: " + birthdayPresent);
@@ -343,7 +359,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage navigateBackFromNamePage() {
         AllureUtils.step("Navigating back from First and Last name page");
         clickElement(Names_backButton);
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return new Personal_InformationPage();
     }
     /**
@@ -353,7 +369,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage navigateBackFromBirthdayPicker() {
         AllureUtils.step("Navigating back from birthday picker without confirming");
         navigateBack(); // This works because we're inside BasePage subclass
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -380,11 +396,12 @@ public class Personal_InformationPage extends BasePage {
     @Step("Clear first name field")
     public Personal_InformationPage clearFirstName() {
         AllureUtils.step("Clearing first name field");
-        waitForPageLoad(); // Wait for keyboard and fields to be ready
+        waitForPageLoad(Names_firstNameField); // Wait for keyboard and fields to be ready
 
-        WebElement firstNameElement = WaitUtils.waitForElementPresent(Names_firstNameField);
-        firstNameElement.click(); // Focus the field
-        firstNameElement.clear(); // Clear existing text
+        withElement(Names_firstNameField, firstNameElement -> {
+            firstNameElement.click(); // Focus the field
+            firstNameElement.clear(); // Clear existing text
+        });
 
         LogUtils.info("First name field cleared");
         return this;
@@ -394,8 +411,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage enterFirstName(String firstName) {
         AllureUtils.step("Entering first name: " + firstName);
 
-        WebElement firstNameElement = WaitUtils.waitForElementPresent(Names_firstNameField);
-        firstNameElement.sendKeys(firstName);
+        withElement(Names_firstNameField, firstNameElement -> firstNameElement.sendKeys(firstName));
 
         LogUtils.info("Entered first name: " + firstName);
         return this;
@@ -413,10 +429,9 @@ public class Personal_InformationPage extends BasePage {
     @Step("Clear last name field")
     public Personal_InformationPage clearLastName() {
         AllureUtils.step("Clearing last name field");
-        waitForPageLoad();
+        waitForPageLoad(Names_lastNameField);
 
-        WebElement element = findElement(Names_lastNameField);
-        element.clear();
+        withElement(Names_lastNameField, WebElement::clear);
 
         return this;
     }
@@ -425,8 +440,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage enterLastName(String lastName) {
         AllureUtils.step("Entering last name: " + lastName);
 
-        WebElement element = findElement(Names_lastNameField);
-        element.sendKeys(lastName);
+        withElement(Names_lastNameField, element -> element.sendKeys(lastName));
 
         return this;
     }
@@ -492,6 +506,15 @@ public class Personal_InformationPage extends BasePage {
         AllureUtils.step("Clicking confirm button to save name changes");
         hideKeyboard(); // Hide keyboard first
         clickElement(Names_confirmButton);
+
+        // Saved names go back to Personal Information, empty ones stay on the names screen with an error
+        try {
+            String outcome = WaitUtils.waitForAnyOf(
+                    Map.of("saved", personalInfoHeader, "rejected", Names_emptyFieldsError), AppConfig.getWaitTimeout());
+            LogUtils.info("Name change " + outcome);
+        } catch (TimeoutException e) {
+            LogUtils.warn("Neither Personal Information nor the empty names error appeared after confirm");
+        }
         waitForPageLoad();
         return new Personal_InformationPage();
     }
@@ -535,66 +558,17 @@ public class Personal_InformationPage extends BasePage {
     }
 
     /**
-     * Select birth year - fast scroll to top, then controlled scroll to target
+     * Select birth year - drags the wheel straight to the year
      */
     @Step("Select birth year: {year}")
     public Personal_InformationPage selectBirthYear(String year) {
         AllureUtils.step("Selecting birth year: " + year);
 
         try {
-            waitForPageLoad();
-
-            int width = driver.manage().window().getSize().getWidth();
-            int height = driver.manage().window().getSize().getHeight();
-            int centerX = width / 2;
-
-            // Step 1: Fast scroll to top (2007)
-            LogUtils.info("Scrolling to top of year picker (2007)");
-            int fastStartY = (int) (height * 0.525);
-            int fastEndY = (int) (height * 0.465);
-
-            for (int i = 0; i < 10; i++) {
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", fastEndY,
-                        "endX", centerX,
-                        "endY", fastStartY,
-                        "speed", 10000
-                ));
-                Thread.sleep(1);
-            }
-            // Step 2: Controlled scroll to target
-            LogUtils.info("Scrolling down to find year: " + year);
-            int slowStartY = (int) (height * 0.52);
-            int slowEndY = (int) (height * 0.48);
-            int maxSwipes = 60;
-
-            for (int i = 0; i < maxSwipes; i++) {
-                try {
-                    WebElement yearElement = driver.findElement(
-                            AppiumBy.androidUIAutomator("new UiSelector().text(\"" + year + "\")")
-                    );
-                    yearElement.click();
-                    LogUtils.info("Selected year: " + year);
-                    return this;
-                } catch (Exception e) {
-                    // Not found
-                }
-
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", slowStartY,
-                        "endX", centerX,
-                        "endY", slowEndY,
-                        "speed", 5000
-                ));
-            }
+            waitForPageLoad(birthdayYearPageTitle);
+            yearPicker.select(Integer.parseInt(year));
+            return this;
 
-            throw new RuntimeException("Year not found: " + year);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted", e);
         } catch (Exception e) {
             LogUtils.error("Failed to select year: " + e.getMessage());
             throw new RuntimeException("Failed to select year: " + year, e);
@@ -602,68 +576,17 @@ public class Personal_InformationPage extends BasePage {
     }
 
     /**
-     * Select birth month - fast scroll to top, then controlled scroll to target
+     * Select birth month - drags the wheel straight to the month
      */
     @Step("Select birth month: {month}")
     public Personal_InformationPage selectBirthMonth(String month) {
         AllureUtils.step("Selecting birth month: " + month);
 
         try {
-            waitForPageLoad();
-
-            int width = driver.manage().window().getSize().getWidth();
-            int height = driver.manage().window().getSize().getHeight();
-            int centerX = width / 2;
-
-            // Step 1: Fast scroll to top (month 1)
-            LogUtils.info("Scrolling to top of month picker (1)");
-            int fastStartY = (int) (height * 0.525);
-            int fastEndY = (int) (height * 0.465);
-
-            for (int i = 0; i < 15; i++) {
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", fastEndY,
-                        "endX", centerX,
-                        "endY", fastStartY,
-                        "speed", 10000
-                ));
-                Thread.sleep(1);
-            }
-
+            waitForPageLoad(birthdayMonthPageTitle);
+            monthPicker.select(Integer.parseInt(month));
+            return this;
 
-            // Step 2: Controlled scroll to target
-            LogUtils.info("Scrolling down to find month: " + month);
-            int slowStartY = (int) (height * 0.52);
-            int slowEndY = (int) (height * 0.48);
-            int maxSwipes = 20;
-
-            for (int i = 0; i < maxSwipes; i++) {
-                try {
-                    WebElement monthElement = driver.findElement(
-                            AppiumBy.androidUIAutomator("new UiSelector().text(\"" + month + "\")")
-                    );
-                    monthElement.click();
-                    LogUtils.info("Selected month: " + month);
-                    return this;
-                } catch (Exception e) {
-                    // Not found
-                }
-
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", slowStartY,
-                        "endX", centerX,
-                        "endY", slowEndY,
-                        "speed", 5000
-                ));
-            }
-
-            throw new RuntimeException("Month not found: " + month);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted", e);
         } catch (Exception e) {
             LogUtils.error("Failed to select month: " + e.getMessage());
             throw new RuntimeException("Failed to select month: " + month, e);
@@ -671,67 +594,17 @@ public class Personal_InformationPage extends BasePage {
     }
 
     /**
-     * Select birth day - fast scroll to top, then controlled scroll to target
+     * Select birth day - drags the wheel straight to the day
      */
     @Step("Select birth day: {day}")
     public Personal_InformationPage selectBirthDay(String day) {
         AllureUtils.step("Selecting birth day: " + day);
 
         try {
-            waitForPageLoad();
-
-            int width = driver.manage().window().getSize().getWidth();
-            int height = driver.manage().window().getSize().getHeight();
-            int centerX = width / 2;
-
-            // Step 1: Fast scroll to top (day 1)
-            LogUtils.info("Scrolling to top of day picker (1)");
-            int fastStartY = (int) (height * 0.525);
-            int fastEndY = (int) (height * 0.465);
-
-            for (int i = 0; i < 20; i++) {
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", fastEndY,
-                        "endX", centerX,
-                        "endY", fastStartY,
-                        "speed", 10000
-                ));
-                Thread.sleep(1);
-            }
-
-            // Step 2: Controlled scroll to target
-            LogUtils.info("Scrolling down to find day: " + day);
-            int slowStartY = (int) (height * 0.52);
-            int slowEndY = (int) (height * 0.48);
-            int maxSwipes = 60;
-
-            for (int i = 0; i < maxSwipes; i++) {
-                try {
-                    WebElement dayElement = driver.findElement(
-                            AppiumBy.androidUIAutomator("new UiSelector().text(\"" + day + "\")")
-                    );
-                    dayElement.click();
-                    LogUtils.info("Selected day: " + day);
-                    return this;
-                } catch (Exception e) {
-                    // Not found
-                }
+            waitForPageLoad(birthdayDayPageTitle);
+            dayPicker.select(Integer.parseInt(day));
+            return this;
 
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", slowStartY,
-                        "endX", centerX,
-                        "endY", slowEndY,
-                        "speed", 5000
-                ));
-            }
-
-            throw new RuntimeException("Day not found: " + day);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted", e);
         } catch (Exception e) {
             LogUtils.error("Failed to select day: " + e.getMessage());
             throw new RuntimeException("Failed to select day: " + day, e);
@@ -747,50 +620,25 @@ public class Personal_InformationPage extends BasePage {
         AllureUtils.step("Checking minimum available birth year");
 
         try {
-            waitForPageLoad();
-
-            int width = driver.manage().window().getSize().getWidth();
-            int height = driver.manage().window().getSize().getHeight();
-            int centerX = width / 2;
+            waitForPageLoad(birthdayYearPageTitle);
 
-            // Scroll all the way to top
+            // Fling all the way to top, until the wheel stops moving
             LogUtils.info("Scrolling to top of year picker");
-            int fastStartY = (int) (height * 0.525);
-            int fastEndY = (int) (height * 0.465);
-
-            for (int i = 0; i < 10; i++) {
-                driver.executeScript("mobile: dragGesture", Map.of(
-                        "startX", centerX,
-                        "startY", fastEndY,
-                        "endX", centerX,
-                        "endY", fastStartY,
-                        "speed", 10000
-                ));
-                Thread.sleep(1);
-            }
-
-            Thread.sleep(300);
+            yearPicker.scrollToTop();
 
             // Check which years are visible at the top
-            // Try to find years from 2010 down to 1990
+            // Try to find years from 2010 down to 1990, all against one page source
+            HierarchySnapshot snapshot = HierarchySnapshot.capture();
             for (int year = 2010; year >= 1990; year--) {
-                try {
-                    driver.findElement(
-                            AppiumBy.androidUIAutomator("new UiSelector().text(\"" + year + "\")")
-                    );
+                if (snapshot.has(AppiumBy.androidUIAutomator("new UiSelector().text(\"" + year + "\")"))) {
                     LogUtils.info("Found year: " + year + " at top of picker");
                     return String.valueOf(year);
-                } catch (Exception e) {
-                    // This year not visible, continue
                 }
             }
 
             LogUtils.warn("Could not determine minimum year");
             return "Unknown";
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted", e);
         } catch (Exception e) {
             LogUtils.error("Failed to check minimum year: " + e.getMessage());
             throw new RuntimeException("Failed to check minimum year", e);
@@ -805,7 +653,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage confirmYearSelection() {
         AllureUtils.step("Confirming year selection");
         clickElement(birthdayYearConfirmButton);
-        waitForPageLoad();
+        waitForPageLoad(birthdayMonthPageTitle);
         return this;
     }
 
@@ -816,7 +664,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage confirmMonthSelection() {
         AllureUtils.step("Confirming month selection");
         clickElement(birthdayMonthConfirmButton);
-        waitForPageLoad();
+        waitForPageLoad(birthdayDayPageTitle);
         return this;
     }
 
@@ -827,7 +675,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage confirmDaySelection() {
         AllureUtils.step("Confirming day selection");
         clickElement(birthdayDayConfirmButton);
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -860,7 +708,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage navigateBackFromYearPicker() {
         AllureUtils.step("Navigating back from year picker");
         navigateBack();
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -939,7 +787,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage confirmGenderSelection() {
         AllureUtils.step("Confirming gender selection");
         clickElement(genderConfirmButton);
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -975,7 +823,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage navigateBackFromGenderPicker() {
         AllureUtils.step("Navigating back from gender picker");
         navigateBack();
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -988,7 +836,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage clickEditProfilePicture() {
         AllureUtils.step("Tapping profile picture to edit");
         clickElement(profilePictureEditButton);
-        waitForPageLoad();
+        waitForPageLoad(cancelPhotoOption);
         return this;
     }
 
@@ -1000,7 +848,7 @@ public class Personal_InformationPage extends BasePage {
     public String getProfileInitials() {
         AllureUtils.step("Getting user initials from profile picture");
         try {
-            String contentDesc = getInstance().getDriver()
+            String contentDesc = driver
                     .findElement(profilePictureInitials)
                     .getAttribute("content-desc");
 
@@ -1092,6 +940,19 @@ public class Personal_InformationPage extends BasePage {
         return this;
     }
 
+    /**
+     * Set the newest image of the camera roll as profile photo and return to the personal info page
+     */
+    @Step("Set profile photo from camera roll")
+    public Personal_InformationPage setProfilePhotoFromCameraRoll() {
+        AllureUtils.step("Setting profile photo from camera roll");
+        clickEditProfilePicture();
+        clickElement(cameraRollOption);
+        clickElement(cameraRollFirstImage);
+        waitForPageLoad(personalInfoHeader);
+        return this;
+    }
+
     /**
      * Click "Remove current photo" option
      */
@@ -1110,7 +971,7 @@ public class Personal_InformationPage extends BasePage {
     public Personal_InformationPage cancelPhotoEdit() {
         AllureUtils.step("Tapping Cancel button");
         clickElement(cancelPhotoOption);
-        waitForPageLoad();
+        waitForPageLoad(personalInfoHeader);
         return this;
     }
 
@@ -17,6 +17,11 @@ public class WelcomePage extends BasePage {
     // Page Elements
     private final By loginButton = AppiumBy.accessibilityId("Have an account?,  Log in!");
 
+    @Override
+    protected By getReadinessAnchor() {
+        return loginButton;
+    }
+
     /**
      * Check if welcome page is displayed
      */
@@ -36,8 +41,9 @@ public class WelcomePage extends BasePage {
         AllureUtils.step("Tapping 'Have an account? Log in!' button");
         clickElement(loginButton);
         LogUtils.info("Navigated from welcome to login page");
-        waitForPageLoad();
-        return new LoginPage();
+        LoginPage loginPage = new LoginPage();
+        loginPage.waitUntilReady();
+        return loginPage;
     }
 
     /**
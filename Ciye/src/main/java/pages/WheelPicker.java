@@ -0,0 +1,255 @@
+package pages;
+
+import driver.DriverContext;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import utils.GestureComposer;
+import utils.HierarchySnapshot;
+import utils.LogUtils;
+import utils.WheelCalibration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Wheel Picker
+ * Selects a number on a scrolling wheel (birthday year, month, day) without blind swipes. The
+ * wheel is modelled by its ordered values and a {@link WheelCalibration} (item height, value order and
+ * visible window) that is measured once per device profile from the visible items and reused in later
+ * runs. One page source gives the value in the selected slot; the wheel is then dragged by exactly the
+ * distance to the target and the target is tapped once it is visible. Every check is made on a page
+ * source, so none waits on the implicit wait.
+ *
+ * @author Ciye Test Team
+ */
+public class WheelPicker {
+
+    // Items of all wheels are plain TextViews holding a number
+    private static final By ITEMS = AppiumBy.androidUIAutomator(
+            "new UiSelector().className(\"android.widget.TextView\").textMatches(\"\\\\d+\")");
+
+    // Items further apart horizontally than this belong to different columns, i.e. different wheels
+    private static final int COLUMN_GAP = 40;
+
+    // Drags more than one correction away from the target mean the measurement is off
+    private static final int MAX_DRAGS = 4;
+
+    // Pixels per second; slow enough that the wheel does not fling on when the finger is lifted
+    private static final int DRAG_SPEED = 1500;
+
+    // Flings across the window per gesture call when scrolling to the top, and calls before giving up
+    private static final int FLINGS_PER_CALL = 5;
+    private static final int MAX_FLING_CALLS = 5;
+    private static final Duration FLING_DURATION = Duration.ofMillis(20);
+
+    /**
+     * One visible item of the wheel
+     */
+    private static final class Item {
+        private final int index;
+        private final String value;
+        private final Point center;
+
+        Item(int index, String value, Point center) {
+            this.index = index;
+            this.value = value;
+            this.center = center;
+        }
+    }
+
+    private final String name;
+    private final List<String> values;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Numeric wheel
+     *
+     * @param minValue smallest value the wheel can show, used to tell its items from other numbers
+     * @param maxValue largest value the wheel can show
+     */
+    public WheelPicker(String name, int minValue, int maxValue) {
+        this.name = name;
+        this.values = IntStream.rangeClosed(minValue, maxValue).mapToObj(String::valueOf).collect(Collectors.toList());
+        for (int i = 0; i < values.size(); i++) {
+            indexes.put(values.get(i), i);
+        }
+    }
+
+    /**
+     * Scroll the wheel to the number and tap it
+     */
+    public void select(int target) {
+        select(String.valueOf(target));
+    }
+
+    /**
+     * Scroll the wheel to the number, given as text, and tap it
+     */
+    public void select(String target) {
+        Integer targetIndex = indexes.get(target);
+        if (targetIndex == null) {
+            throw new RuntimeException(name + " picker has no value " + target + " (" + values.get(0) + "-" +
+                    values.get(values.size() - 1) + ")");
+        }
+        AndroidDriver driver = DriverContext.getDriver();
+
+        for (int drags = 0; drags <= MAX_DRAGS; drags++) {
+            HierarchySnapshot snapshot = HierarchySnapshot.capture();
+            List<Item> items = visibleItems(snapshot);
+
+            Item targetItem = items.stream().filter(item -> item.index == targetIndex).findFirst().orElse(null);
+            if (targetItem != null) {
+                tap(driver, targetItem.center);
+                verifySelected(targetIndex);
+                LogUtils.info("Selected " + name + " " + target + " after " + drags + " drag(s)");
+                return;
+            }
+
+            // A drag that did not bring the target into view means the calibration is off: measure again
+            WheelCalibration calibration = calibrate(snapshot, items, drags > 0);
+            Item selected = items.stream()
+                    .min(Comparator.comparingInt(item -> Math.abs(item.center.getY() - calibration.getCenterY())))
+                    .orElseThrow(() -> new RuntimeException(name + " picker shows none of its values"));
+
+            // Positive when the target is further down the wheel, i.e. the content has to move up
+            int offset = (int) Math.round((targetIndex - selected.index) * calibration.getDirection() * calibration.getItemHeight());
+            LogUtils.debug(name + " picker: " + selected.value + " in the middle, dragging " + offset + " px towards " + target);
+            drag(driver, new Point(calibration.getX(), selected.center.getY()), offset, snapshot.getScreenSize());
+        }
+        throw new RuntimeException(name + " " + target + " not reached after " + MAX_DRAGS + " drags");
+    }
+
+    /**
+     * Fling the wheel to its top and get the values it shows there, top to bottom
+     */
+    public List<String> scrollToTop() {
+        AndroidDriver driver = DriverContext.getDriver();
+        HierarchySnapshot snapshot = HierarchySnapshot.capture();
+        List<Item> items = visibleItems(snapshot);
+        List<String> shown = values(items);
+        WheelCalibration calibration = calibrate(snapshot, items, false);
+
+        // Flings down across the visible window, until a call leaves the wheel where it was
+        Point from = new Point(calibration.getX(), calibration.getWindowTop());
+        Point to = new Point(calibration.getX(), calibration.getWindowBottom());
+        for (int calls = 1; calls <= MAX_FLING_CALLS; calls++) {
+            GestureComposer.compose()
+                    .repeat(FLINGS_PER_CALL, gesture -> gesture.swipe(from, to, FLING_DURATION))
+                    .perform(driver);
+            List<String> now = values(visibleItems(HierarchySnapshot.capture()));
+            if (now.equals(shown)) {
+                LogUtils.info(name + " picker at its top after " + calls + " fling call(s), showing " + now);
+                return now;
+            }
+            shown = now;
+        }
+        LogUtils.warn(name + " picker still moving after " + MAX_FLING_CALLS + " fling calls");
+        return shown;
+    }
+
+    /**
+     * Get the wheel's calibration on this device profile, measuring it from the visible items when there
+     * is none or it has to be measured again
+     */
+    private WheelCalibration calibrate(HierarchySnapshot snapshot, List<Item> items, boolean remeasure) {
+        Dimension screen = snapshot.getScreenSize();
+        WheelCalibration calibration = WheelCalibration.get(name, screen);
+        if (calibration != null && (!remeasure || items.size() < 2)) {
+            return calibration;
+        }
+        if (items.size() < 2) {
+            throw new RuntimeException(name + " picker shows less than two items, cannot measure it");
+        }
+
+        // Item height and direction come from the outermost visible items, which are furthest apart
+        Item first = items.get(0);
+        Item last = items.get(items.size() - 1);
+        double itemHeight = (double) (last.center.getY() - first.center.getY()) / Math.abs(last.index - first.index);
+        int halfItem = (int) Math.round(itemHeight / 2);
+        calibration = new WheelCalibration(itemHeight, Integer.signum(last.index - first.index), first.center.getX(),
+                first.center.getY() - halfItem, last.center.getY() + halfItem);
+        WheelCalibration.put(name, screen, calibration);
+        return calibration;
+    }
+
+    /**
+     * Drag the wheel content by the offset (positive moves it up), split into drags that stay on the screen
+     */
+    private void drag(AndroidDriver driver, Point from, int offset, Dimension screen) {
+        int minY = (int) (screen.getHeight() * 0.1);
+        int maxY = (int) (screen.getHeight() * 0.9);
+        int remaining = offset;
+        int startY = from.getY();
+        GestureComposer drags = GestureComposer.compose();
+        while (remaining != 0) {
+            // As far as the finger can go from its start towards the screen edge
+            int room = remaining > 0 ? startY - minY : maxY - startY;
+            int step = Integer.signum(remaining) * Math.min(Math.abs(remaining), room);
+            drags.drag(new Point(from.getX(), startY), new Point(from.getX(), startY - step),
+                    Duration.ofMillis(Math.abs(step) * 1000L / DRAG_SPEED));
+            remaining -= step;
+            // Further drags use the whole screen height
+            startY = remaining > 0 ? maxY : minY;
+        }
+        // All drags in one call
+        drags.perform(driver);
+    }
+
+    /**
+     * Check with one page source that the target is still on the wheel after the tap
+     */
+    private void verifySelected(int targetIndex) {
+        boolean present = visibleItems(HierarchySnapshot.capture()).stream().anyMatch(item -> item.index == targetIndex);
+        if (!present) {
+            throw new RuntimeException(name + " " + values.get(targetIndex) + " was tapped but is no longer on the wheel");
+        }
+    }
+
+    /**
+     * Get the wheel's items on the screen, top to bottom. Only numeric TextViews in the wheel's range
+     * count, and of those only the column holding most of them, so numbers elsewhere on the screen or
+     * on a neighbouring wheel are not taken for the wheel's items.
+     */
+    private List<Item> visibleItems(HierarchySnapshot snapshot) {
+        List<Item> items = new ArrayList<>();
+        for (HierarchySnapshot.Node node : snapshot.findAll(ITEMS)) {
+            Integer index = indexes.get(node.getText());
+            if (index != null && node.getCenter() != null) {
+                items.add(new Item(index, node.getText(), node.getCenter()));
+            }
+        }
+
+        // Split into columns where the horizontal centers jump, and keep the fullest one
+        items.sort(Comparator.comparingInt(item -> item.center.getX()));
+        List<Item> wheel = new ArrayList<>();
+        List<Item> column = new ArrayList<>();
+        for (Item item : items) {
+            if (!column.isEmpty() && item.center.getX() - column.get(column.size() - 1).center.getX() > COLUMN_GAP) {
+                column = new ArrayList<>();
+            }
+            column.add(item);
+            if (column.size() > wheel.size()) {
+                wheel = column;
+            }
+        }
+        wheel.sort(Comparator.comparingInt(item -> item.center.getY()));
+        return wheel;
+    }
+
+    private static List<String> values(List<Item> items) {
+        return items.stream().map(item -> item.value).collect(Collectors.toList());
+    }
+
+    private static void tap(AndroidDriver driver, Point point) {
+        driver.executeScript("mobile: clickGesture", Map.of("x", point.getX(), "y", point.getY()));
+    }
+}
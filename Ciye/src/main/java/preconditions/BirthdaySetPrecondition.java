@@ -0,0 +1,58 @@
+package preconditions;
+
+import pages.Navigator;
+import pages.Personal_InformationPage;
+import testdata.TestData;
+import utils.LogUtils;
+
+/**
+ * Birthday Set Precondition
+ * The valid user logged in with the TestData birthday saved on the profile, with the app on the home screen.
+ * The birthday lives on the backend, which a checkpoint does not restore, so it is checked again after
+ * every checkpoint load and saved again when a test changed it.
+ *
+ * @author Ciye Test Team
+ */
+public class BirthdaySetPrecondition extends LoggedInPrecondition {
+
+    // Birthday as the profile shows it once the TestData birthday is saved, known after the first save of the run
+    private static volatile String savedBirthday;
+
+    @Override
+    public String name() {
+        return "birthday-set";
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public void build() {
+        super.build();
+        ensure(Navigator.openPersonalInformation());
+        Navigator.resumeLoggedIn();
+    }
+
+    @Override
+    public void restored() {
+        super.restored();
+        ensure(Navigator.openPersonalInformation());
+        Navigator.resumeLoggedIn();
+    }
+
+    /**
+     * Save the TestData birthday from the personal info page unless the profile already shows it
+     */
+    public static void ensure(Personal_InformationPage personalInfoPage) {
+        String current = personalInfoPage.getUserBirthday();
+        if (savedBirthday != null && savedBirthday.equals(current)) {
+            return;
+        }
+        LogUtils.info("Saving TestData birthday, profile shows '" + current + "'");
+        personalInfoPage.clickBirthdayField()
+                .selectCompleteBirthday(TestData.Birthday.YEAR, TestData.Birthday.MONTH, TestData.Birthday.DAY);
+        savedBirthday = personalInfoPage.getUserBirthday();
+    }
+}
@@ -0,0 +1,35 @@
+package preconditions;
+
+import driver.Precondition;
+import pages.Navigator;
+
+/**
+ * Logged In Precondition
+ * The valid TestData user logged in, with the app on the home screen
+ *
+ * @author Ciye Test Team
+ */
+public class LoggedInPrecondition implements Precondition {
+
+    protected static final String USER = "ValidUser";
+
+    @Override
+    public String name() {
+        return "logged-in";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public void build() {
+        Navigator.logInAs(USER);
+    }
+
+    @Override
+    public void restored() {
+        Navigator.resumeLoggedIn();
+    }
+}
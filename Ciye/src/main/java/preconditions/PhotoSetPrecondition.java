@@ -0,0 +1,91 @@
+package preconditions;
+
+import pages.Navigator;
+import pages.Personal_InformationPage;
+import utils.AdbUtils;
+import utils.LogUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Photo Set Precondition
+ * The valid user logged in with a profile photo, with the app on the home screen. The photo is a
+ * generated image pushed to the device's camera roll, so no gallery content is needed. The photo lives
+ * on the backend, which a checkpoint does not restore, so it is checked again after every checkpoint
+ * load and set again when a test removed it.
+ *
+ * @author Ciye Test Team
+ */
+public class PhotoSetPrecondition extends LoggedInPrecondition {
+
+    private static final String IMAGE_PATH = "/sdcard/Pictures/ciye_profile.png";
+
+    @Override
+    public String name() {
+        return "photo-set";
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public void build() {
+        super.build();
+        ensure(Navigator.openPersonalInformation());
+        Navigator.resumeLoggedIn();
+    }
+
+    @Override
+    public void restored() {
+        super.restored();
+        ensure(Navigator.openPersonalInformation());
+        Navigator.resumeLoggedIn();
+    }
+
+    /**
+     * Set a profile photo from the personal info page unless the user already has one
+     */
+    public static void ensure(Personal_InformationPage personalInfoPage) {
+        if (personalInfoPage.hasProfilePhoto()) {
+            LogUtils.info("Profile photo already set");
+            return;
+        }
+        pushImage();
+        personalInfoPage.setProfilePhotoFromCameraRoll();
+        if (!personalInfoPage.hasProfilePhoto()) {
+            throw new RuntimeException("Profile photo was not set from the camera roll");
+        }
+    }
+
+    /**
+     * Write a generated image to the camera roll and have the media scanner pick it up
+     */
+    private static void pushImage() {
+        String udid = AdbUtils.getCurrentUdid();
+        AdbUtils.execIn(udid, "sh -c 'cat > " + IMAGE_PATH + "'", generateImage());
+        AdbUtils.shell(udid, "am broadcast -a android.intent.action.MEDIA_SCANNER_SCAN_FILE -d file://" + IMAGE_PATH);
+        LogUtils.info("Pushed profile image to " + IMAGE_PATH + " on " + udid);
+    }
+
+    private static byte[] generateImage() {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, new Color(x, y, 128).getRGB());
+            }
+        }
+        try {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            return png.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate profile image", e);
+        }
+    }
+}
@@ -21,6 +21,13 @@ public class TestData {
         public static final String LastName = "Maanio";
     }
 
+    // Birthday the birthday-set precondition saves on the profile
+    public static class Birthday {
+        public static final String YEAR = "1990";
+        public static final String MONTH = "1";
+        public static final String DAY = "1";
+    }
+
     // Test User for Account Deletion
     public static class DeleteUser {
         public static final String EMAIL = "1a72313202@emaily.pro";
@@ -0,0 +1,212 @@
+package utils;
+
+import config.AppConfig;
+import config.DeviceConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptive Wait
+ * Waits for element conditions with a polling schedule learned from how long each locator took to
+ * satisfy the condition before on the same device: it polls tightly while the condition usually turns
+ * true, backs off exponentially afterwards and, once enough samples exist, caps the timeout at a
+ * multiple of the slowest latency seen. Latency histograms are persisted between runs.
+ *
+ * @author Ciye Test Team
+ */
+public final class AdaptiveWait {
+
+    // Upper bounds (ms) of the histogram buckets; the last bucket holds everything slower
+    private static final long[] BUCKET_BOUNDS = {25, 50, 100, 200, 400, 800, 1600, 3200, 6400, 12800, 25600};
+
+    // Assumed latency of conditions without enough history
+    private static final long UNKNOWN_LATENCY_MS = 1000;
+
+    // Selenium's fixed polling, used when adaptive waits are disabled
+    private static final long FIXED_POLL_MS = 500;
+
+    /**
+     * Latency histogram of one condition on one locator and device
+     */
+    public static class Histogram {
+        private final long[] counts = new long[BUCKET_BOUNDS.length + 1];
+        private long misses;
+
+        synchronized void record(long latencyMs) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && latencyMs > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+
+        synchronized void recordMiss() {
+            misses++;
+        }
+
+        public synchronized long getSamples() {
+            long samples = 0;
+            for (long count : counts) {
+                samples += count;
+            }
+            return samples;
+        }
+
+        public synchronized long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Get the upper bound of the bucket holding the given percentile (0-100) of the samples
+         */
+        public synchronized long getPercentileMs(double percentile) {
+            long samples = getSamples();
+            if (samples == 0) {
+                return UNKNOWN_LATENCY_MS;
+            }
+            long rank = (long) Math.ceil(samples * percentile / 100.0);
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return bucket < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[bucket] : BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1] * 2;
+                }
+            }
+            return BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1] * 2;
+        }
+
+        synchronized JSONObject toJson() {
+            return new JSONObject().put("buckets", new JSONArray(counts)).put("misses", misses);
+        }
+
+        static Histogram fromJson(JSONObject json) {
+            Histogram histogram = new Histogram();
+            JSONArray buckets = json.getJSONArray("buckets");
+            for (int i = 0; i < Math.min(buckets.length(), histogram.counts.length); i++) {
+                histogram.counts[i] = buckets.getLong(i);
+            }
+            histogram.misses = json.optLong("misses");
+            return histogram;
+        }
+    }
+
+    // Keyed by device, then by condition and locator
+    private static final Map<String, Map<String, Histogram>> histograms = new ConcurrentHashMap<>();
+    private static final JsonStore store = new JsonStore("wait latency stats", "devices", AppConfig::getAdaptiveWaitStatsFile);
+
+    private AdaptiveWait() {}
+
+    /**
+     * Wait until the condition on the locator holds, throwing a TimeoutException like WebDriverWait when
+     * it does not within the timeout (or the learned ceiling, whichever is shorter)
+     *
+     * @param kind name of the condition (e.g. present, visible), part of the histogram key
+     */
+    public static <T> T until(By locator, String kind, ExpectedCondition<T> condition, int timeoutInSeconds) {
+        AndroidDriver driver = DriverContext.getDriver();
+        boolean adaptive = AppConfig.isAdaptiveWaitEnabled();
+        Histogram histogram = getHistogram(kind + " " + locator);
+
+        long timeoutMs = Duration.ofSeconds(timeoutInSeconds).toMillis();
+        long tightUntilMs = 0;
+        if (adaptive) {
+            tightUntilMs = histogram.getPercentileMs(95);
+            if (histogram.getSamples() >= AppConfig.getAdaptiveWaitMinSamples()) {
+                long ceilingMs = Math.max(AppConfig.getAdaptiveWaitCeilingMinMs(),
+                        histogram.getPercentileMs(100) * AppConfig.getAdaptiveWaitCeilingFactor());
+                timeoutMs = Math.min(timeoutMs, ceilingMs);
+            }
+        }
+        long minPollMs = adaptive ? AppConfig.getAdaptiveWaitMinPollMs() : FIXED_POLL_MS;
+        long maxPollMs = adaptive ? AppConfig.getAdaptiveWaitMaxPollMs() : FIXED_POLL_MS;
+
+        long start = System.currentTimeMillis();
+        long pollMs = minPollMs;
+        RuntimeException lastError = null;
+
+        // Each probe must return at once; the implicit wait would turn every poll into a blocking find
+        TimeAccounting.Span poll = TimeAccounting.start(TimeAccounting.Category.POLL);
+        ImplicitWait.suspend(driver);
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        histogram.record(System.currentTimeMillis() - start);
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long elapsedMs = System.currentTimeMillis() - start;
+                if (elapsedMs >= timeoutMs) {
+                    break;
+                }
+                // Poll tightly while the condition usually turns true, then back off
+                if (elapsedMs > tightUntilMs) {
+                    pollMs = Math.min(maxPollMs, pollMs * 2);
+                }
+                Thread.sleep(Math.min(pollMs, timeoutMs - elapsedMs));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ImplicitWait.resume(driver);
+            poll.close();
+        }
+
+        histogram.recordMiss();
+        throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for " +
+                (System.currentTimeMillis() - start) + " ms)", lastError);
+    }
+
+    /**
+     * Get the latency histogram of a condition on the current device, loading the saved ones on first use
+     */
+    public static Histogram getHistogram(String key) {
+        load();
+        String device = DriverContext.isBound() && DriverContext.getDeviceId() != null
+                ? DriverContext.getDeviceId() : DeviceConfig.getDeviceUDID();
+        return histograms.computeIfAbsent(device, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new Histogram());
+    }
+
+    /**
+     * Persist the latency histograms for the next run
+     */
+    public static void save() {
+        store.save(() -> {
+            JSONObject devices = new JSONObject();
+            histograms.forEach((device, byKey) -> {
+                JSONObject keys = new JSONObject();
+                byKey.forEach((key, histogram) -> keys.put(key, histogram.toJson()));
+                devices.put(device, keys);
+            });
+            return devices;
+        });
+    }
+
+    private static void load() {
+        store.load(devices -> {
+            for (String device : devices.keySet()) {
+                JSONObject keys = devices.getJSONObject(device);
+                Map<String, Histogram> byKey = histograms.computeIfAbsent(device, d -> new ConcurrentHashMap<>());
+                for (String key : keys.keySet()) {
+                    byKey.put(key, Histogram.fromJson(keys.getJSONObject(key)));
+                }
+            }
+        });
+    }
+}
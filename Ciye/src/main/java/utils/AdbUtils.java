@@ -0,0 +1,113 @@
+package utils;
+
+import config.DeviceConfig;
+import config.VirtualDeviceConfig;
+import driver.DriverContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ADB Utility
+ * Runs adb commands against a device, using the adb binary configured as adb.path
+ *
+ * @author Ciye Test Team
+ */
+public class AdbUtils {
+
+    private static final long COMMAND_TIMEOUT_SECONDS = 120;
+
+    /**
+     * Get the udid of the device the current thread's driver runs on
+     */
+    public static String getCurrentUdid() {
+        String deviceId = DriverContext.getDeviceId();
+        return deviceId != null ? VirtualDeviceConfig.getDeviceInfo(deviceId).udid : DeviceConfig.getDeviceUDID();
+    }
+
+    /**
+     * Run a shell command on the device and return its output
+     */
+    public static String shell(String udid, String command) {
+        return new String(run(udid, null, "shell", command), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run a command on the device and return its raw binary output
+     */
+    public static byte[] execOut(String udid, String command) {
+        return run(udid, null, "exec-out", command);
+    }
+
+    /**
+     * Run a command on the device with the given bytes as its standard input
+     */
+    public static void execIn(String udid, String command, byte[] input) {
+        run(udid, input, "exec-in", command);
+    }
+
+    /**
+     * Run an adb command against the device (e.g. "emu", "avd", "snapshot", "list") and return its output
+     */
+    public static String adb(String udid, String... args) {
+        return new String(run(udid, null, args), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run an adb command against the device with a specific adb binary and return its output
+     */
+    public static String runWith(String adbPath, String udid, String... args) {
+        return new String(run(adbPath, udid, null, args), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] run(String udid, byte[] input, String... args) {
+        return run(DeviceConfig.getAdbPath(), udid, input, args);
+    }
+
+    private static byte[] run(String adbPath, String udid, byte[] input, String... args) {
+        List<String> command = new ArrayList<>(List.of(adbPath, "-s", udid));
+        command.addAll(List.of(args));
+        try {
+            Process process = new ProcessBuilder(command).start();
+            // Drain stderr on its own thread so a chatty command cannot block on a full pipe
+            CompletableFuture<byte[]> stderr = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()));
+
+            try (OutputStream stdin = process.getOutputStream()) {
+                if (input != null) {
+                    stdin.write(input);
+                }
+            }
+            byte[] output = readAll(process.getInputStream());
+
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new RuntimeException("adb command timed out: " + String.join(" ", command));
+            }
+            if (process.exitValue() != 0) {
+                throw new RuntimeException("adb command failed (exit " + process.exitValue() + "): " +
+                        String.join(" ", command) + " - " + new String(stderr.join(), StandardCharsets.UTF_8).trim());
+            }
+            return output;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to run adb command: " + String.join(" ", command), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running adb command: " + String.join(" ", command), e);
+        }
+    }
+
+    private static byte[] readAll(InputStream stream) {
+        try (stream) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+}
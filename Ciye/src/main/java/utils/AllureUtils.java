@@ -17,6 +17,7 @@ public class AllureUtils {
     public static void step(String stepName) {
         Allure.step(stepName);
         LogUtils.step(stepName);
+        TimeAccounting.step(stepName);
     }
 
     /**
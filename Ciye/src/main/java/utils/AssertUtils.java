@@ -21,7 +21,7 @@ public class AssertUtils {
             LogUtils.info("✅ Assertion passed: " + description);
         } catch (AssertionError e) {
             LogUtils.error("❌ Assertion failed: " + description);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -36,7 +36,7 @@ public class AssertUtils {
             LogUtils.info("✅ Assertion passed: " + description);
         } catch (AssertionError e) {
             LogUtils.error("❌ Assertion failed: " + description);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -51,7 +51,7 @@ public class AssertUtils {
             LogUtils.info("✅ Assertion passed: " + description + " (Expected: " + expected + ", Actual: " + actual + ")");
         } catch (AssertionError e) {
             LogUtils.error("❌ Assertion failed: " + description + " (Expected: " + expected + ", Actual: " + actual + ")");
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -66,7 +66,7 @@ public class AssertUtils {
             LogUtils.info("✅ Assertion passed: " + description);
         } catch (AssertionError e) {
             LogUtils.error("❌ Assertion failed: " + description);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -81,7 +81,7 @@ public class AssertUtils {
             LogUtils.info("✅ Element is displayed: " + elementDescription);
         } catch (AssertionError e) {
             LogUtils.error("❌ Element is not displayed: " + elementDescription);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -97,7 +97,7 @@ public class AssertUtils {
             LogUtils.info("✅ Text assertion passed: " + description);
         } catch (AssertionError e) {
             LogUtils.error("❌ Text assertion failed: " + description);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
             throw e;
         }
     }
@@ -110,7 +110,7 @@ public class AssertUtils {
             LogUtils.info("✅ Soft assertion passed: " + description);
         } else {
             LogUtils.warn("⚠️ Soft assertion failed: " + description);
-            ScreenshotUtils.takeScreenshot();
+            ScreenshotUtils.captureScreenshot("Assertion Failure");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package utils;
+
+import config.AppConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Element Cache
+ * Keeps the WebElement handles page helpers found on the current screen, so the same locator is not
+ * looked up again until the screen generation moves on (see {@link ScreenGeneration}). A handle that
+ * went stale anyway is dropped and its element found again once, transparently for the caller.
+ *
+ * @author Ciye Test Team
+ */
+public final class ElementCache {
+
+    /**
+     * Handles found on one screen of one driver
+     */
+    private static final class Screen {
+        private final AndroidDriver driver;
+        private final long generation;
+        private final Map<String, WebElement> elements = new HashMap<>();
+
+        Screen(AndroidDriver driver, long generation) {
+            this.driver = driver;
+            this.generation = generation;
+        }
+    }
+
+    private static final ThreadLocal<Screen> screenThreadLocal = new ThreadLocal<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong staleRefinds = new AtomicLong();
+
+    private ElementCache() {}
+
+    /**
+     * Get the element of the locator, from the cache or found by the finder
+     */
+    public static WebElement get(By locator, Function<By, WebElement> finder) {
+        if (!AppConfig.isElementCacheEnabled()) {
+            return finder.apply(locator);
+        }
+        Map<String, WebElement> elements = currentScreen().elements;
+        WebElement element = elements.get(locator.toString());
+        if (element != null) {
+            hits.incrementAndGet();
+            return element;
+        }
+        misses.incrementAndGet();
+        element = finder.apply(locator);
+        elements.put(locator.toString(), element);
+        return element;
+    }
+
+    /**
+     * Run an action on the element of the locator, finding the element again once when its handle is stale
+     */
+    public static <T> T apply(By locator, Function<By, WebElement> finder, Function<WebElement, T> action) {
+        try {
+            return action.apply(get(locator, finder));
+        } catch (StaleElementReferenceException e) {
+            staleRefinds.incrementAndGet();
+            evict(locator);
+            LogUtils.debug("Cached element went stale, finding it again: " + locator);
+            return action.apply(get(locator, finder));
+        }
+    }
+
+    /**
+     * Drop the cached element of the locator
+     */
+    public static void evict(By locator) {
+        Screen screen = screenThreadLocal.get();
+        if (screen != null) {
+            screen.elements.remove(locator.toString());
+        }
+    }
+
+    /**
+     * Get the cache hit rate of the whole run
+     */
+    public static String getRunSummary() {
+        long lookups = hits.get() + misses.get();
+        long hitRate = lookups == 0 ? 0 : Math.round(hits.get() * 100.0 / lookups);
+        return "Element cache: " + hits.get() + " of " + lookups + " lookups hit (" + hitRate + "%), " +
+                staleRefinds.get() + " stale handle(s) found again";
+    }
+
+    private static Screen currentScreen() {
+        AndroidDriver driver = DriverContext.getDriver();
+        long generation = ScreenGeneration.getScreen(driver);
+        Screen screen = screenThreadLocal.get();
+        if (screen == null || screen.driver != driver || screen.generation != generation) {
+            screen = new Screen(driver, generation);
+            screenThreadLocal.set(screen);
+        }
+        return screen;
+    }
+}
@@ -0,0 +1,111 @@
+package utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Gesture Composer
+ * Compiles a sequence of swipes, drags, taps and pauses into one W3C actions payload, performed with a
+ * single performActions call instead of one mobile: gesture script (and HTTP round trip) per swipe.
+ * ScrollService composes its drags with it.
+ *
+ * @author Ciye Test Team
+ */
+public final class GestureComposer {
+
+    // Held before lifting the finger of a drag, so scroll views stop where the finger stops
+    private static final Duration DRAG_HOLD = Duration.ofMillis(150);
+
+    private static final Duration TAP_DURATION = Duration.ofMillis(50);
+
+    private final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private final Sequence sequence = new Sequence(finger, 0);
+    private int gestures;
+
+    private GestureComposer() {}
+
+    /**
+     * Start composing a gesture sequence
+     */
+    public static GestureComposer compose() {
+        return new GestureComposer();
+    }
+
+    /**
+     * Swipe from one point to another; the content may keep scrolling after the finger is lifted
+     */
+    public GestureComposer swipe(Point from, Point to, Duration duration) {
+        press(from);
+        sequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), to.getX(), to.getY()));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    /**
+     * Drag from one point to another and hold before lifting, so the content stops where the finger stops
+     */
+    public GestureComposer drag(Point from, Point to, Duration duration) {
+        press(from);
+        sequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), to.getX(), to.getY()));
+        sequence.addAction(new Pause(finger, DRAG_HOLD));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    /**
+     * Tap a point
+     */
+    public GestureComposer tap(Point point) {
+        press(point);
+        sequence.addAction(new Pause(finger, TAP_DURATION));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    /**
+     * Wait between gestures, e.g. for a scroll to settle
+     */
+    public GestureComposer pause(Duration duration) {
+        sequence.addAction(new Pause(finger, duration));
+        return this;
+    }
+
+    /**
+     * Repeat a part of the sequence
+     */
+    public GestureComposer repeat(int times, Function<GestureComposer, GestureComposer> part) {
+        for (int i = 0; i < times; i++) {
+            part.apply(this);
+        }
+        return this;
+    }
+
+    public int getGestureCount() {
+        return gestures;
+    }
+
+    /**
+     * Perform the whole sequence in one performActions call
+     */
+    public void perform(AndroidDriver driver) {
+        if (gestures == 0) {
+            return;
+        }
+        driver.perform(List.of(sequence));
+    }
+
+    private void press(Point point) {
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), point.getX(), point.getY()));
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+    }
+}
@@ -0,0 +1,366 @@
+package utils;
+
+import config.AppConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathFunction;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hierarchy Snapshot
+ * One page source of the current screen, fetched in a single round trip and queried locally, so
+ * presence checks never wait on the driver's implicit wait and many fields are read for one request.
+ * Locators are evaluated through {@link LocatorTranslator} (accessibility ids and resource ids through
+ * an attribute index); use {@link #isSupported(By)} before relying on a snapshot for a locator.
+ * A snapshot is fresh while no command that may change the screen was sent since it was captured
+ * (see {@link ScreenGeneration}) and it is younger than snapshot.max.age.ms; {@link #current()} only
+ * ever hands out fresh ones.
+ *
+ * @author Ciye Test Team
+ */
+public class HierarchySnapshot {
+
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    // Compiled XPath per locator source; XPathExpression is not thread-safe, so one cache per thread
+    private static final ThreadLocal<Map<String, XPathExpression>> expressionsThreadLocal =
+            ThreadLocal.withInitial(ConcurrentHashMap::new);
+
+    private static final ThreadLocal<XPath> xpathThreadLocal = ThreadLocal.withInitial(HierarchySnapshot::newXPath);
+
+    // Last snapshot taken through current(), reused while it is fresh
+    private static final ThreadLocal<HierarchySnapshot> currentThreadLocal = new ThreadLocal<>();
+
+    // Attributes exact-match locators are resolved through without running an XPath
+    private static final String[] INDEXED_ATTRIBUTES = {"content-desc", "resource-id", "text"};
+
+    /**
+     * One element of the snapshot
+     */
+    public static class Node {
+        private final Element element;
+
+        Node(Element element) {
+            this.element = element;
+        }
+
+        /**
+         * Get a page source attribute (text, content-desc, resource-id, class, clickable, ...), "" when absent
+         */
+        public String getAttribute(String name) {
+            return element.getAttribute(name);
+        }
+
+        public String getText() {
+            return getAttribute("text");
+        }
+
+        public String getContentDesc() {
+            return getAttribute("content-desc");
+        }
+
+        public String getClassName() {
+            return getAttribute("class");
+        }
+
+        public boolean isDisplayed() {
+            // Older UiAutomator2 servers only put displayed elements into the source and omit the attribute
+            return !"false".equals(getAttribute("displayed"));
+        }
+
+        /**
+         * Get the on-screen bounds, or null when the element has none
+         */
+        public Rectangle getBounds() {
+            Matcher matcher = BOUNDS.matcher(getAttribute("bounds"));
+            if (!matcher.matches()) {
+                return null;
+            }
+            int left = Integer.parseInt(matcher.group(1));
+            int top = Integer.parseInt(matcher.group(2));
+            int right = Integer.parseInt(matcher.group(3));
+            int bottom = Integer.parseInt(matcher.group(4));
+            return new Rectangle(left, top, bottom - top, right - left);
+        }
+
+        /**
+         * Get the center of the on-screen bounds, or null when the element has none
+         */
+        public Point getCenter() {
+            Rectangle bounds = getBounds();
+            return bounds == null ? null : new Point(bounds.getX() + bounds.getWidth() / 2, bounds.getY() + bounds.getHeight() / 2);
+        }
+
+        @Override
+        public String toString() {
+            return getClassName() + "[text=" + getText() + ", desc=" + getContentDesc() + ", bounds=" +
+                    getAttribute("bounds") + "]";
+        }
+    }
+
+    private final String pageSource;
+    private final Document document;
+    private final long capturedAt;
+    private final AndroidDriver driver;
+    private final long generation;
+    private Map<String, Map<String, List<Node>>> index;
+
+    private HierarchySnapshot(String pageSource, AndroidDriver driver, long generation) {
+        this.pageSource = pageSource;
+        this.document = parse(pageSource);
+        this.capturedAt = System.currentTimeMillis();
+        this.driver = driver;
+        this.generation = generation;
+    }
+
+    /**
+     * Capture the current driver's screen
+     */
+    public static HierarchySnapshot capture() {
+        AndroidDriver driver = DriverContext.getDriver();
+        // Read before the source, so a change racing the capture makes the snapshot stale rather than wrong
+        long generation = ScreenGeneration.get(driver);
+        return new HierarchySnapshot(driver.getPageSource(), driver, generation);
+    }
+
+    /**
+     * Get a fresh snapshot of the current driver's screen, reusing the last one while nothing changed.
+     * For read-only checks; polling loops must capture() since the app can change the screen by itself.
+     */
+    public static HierarchySnapshot current() {
+        HierarchySnapshot snapshot = currentThreadLocal.get();
+        if (snapshot == null || snapshot.driver != DriverContext.getDriver() || !snapshot.isFresh()) {
+            snapshot = capture();
+            currentThreadLocal.set(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Wrap a page source that was already fetched; such a snapshot is never fresh
+     */
+    public static HierarchySnapshot of(String pageSource) {
+        return new HierarchySnapshot(pageSource, null, -1);
+    }
+
+    /**
+     * Check if the snapshot still shows the screen: no screen-changing command since the capture and
+     * not older than snapshot.max.age.ms
+     */
+    public boolean isFresh() {
+        return driver != null &&
+                System.currentTimeMillis() - capturedAt <= AppConfig.getSnapshotMaxAgeMs() &&
+                ScreenGeneration.get(driver) == generation;
+    }
+
+    /**
+     * Check if the locator can be evaluated on a snapshot
+     */
+    public static boolean isSupported(By locator) {
+        return LocatorTranslator.toXPath(locator) != null;
+    }
+
+    /**
+     * Find all elements matching the locator, in document order
+     */
+    public List<Node> findAll(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            if ("accessibility id".equals(parameters.using())) {
+                return findAllByAttribute("content-desc", value);
+            }
+            if ("id".equals(parameters.using())) {
+                return findAllByAttribute("resource-id", value.contains(":id/") ? value : AppConfig.getAppPackage() + ":id/" + value);
+            }
+        }
+        String xpath = LocatorTranslator.toXPath(locator);
+        if (xpath == null) {
+            throw new RuntimeException("Locator cannot be evaluated on a page source: " + locator);
+        }
+        return findAllByXPath(xpath);
+    }
+
+    /**
+     * Find all elements matching an XPath over the page source, in document order
+     */
+    public List<Node> findAllByXPath(String xpath) {
+        try {
+            XPathExpression expression = expressionsThreadLocal.get().computeIfAbsent(xpath, HierarchySnapshot::compile);
+            NodeList matches = (NodeList) expression.evaluate(document, XPathConstants.NODESET);
+            List<Node> nodes = new ArrayList<>(matches.getLength());
+            for (int i = 0; i < matches.getLength(); i++) {
+                if (matches.item(i) instanceof Element) {
+                    nodes.add(new Node((Element) matches.item(i)));
+                }
+            }
+            return nodes;
+        } catch (XPathExpressionException e) {
+            throw new RuntimeException("Invalid XPath: " + xpath, e);
+        }
+    }
+
+    /**
+     * Find all elements whose content-desc, resource-id or text equals the value, in document order
+     */
+    public synchronized List<Node> findAllByAttribute(String attribute, String value) {
+        if (index == null) {
+            index = new HashMap<>();
+            for (String name : INDEXED_ATTRIBUTES) {
+                index.put(name, new HashMap<>());
+            }
+            NodeList elements = document.getElementsByTagName("*");
+            for (int i = 0; i < elements.getLength(); i++) {
+                Element element = (Element) elements.item(i);
+                for (String name : INDEXED_ATTRIBUTES) {
+                    if (element.hasAttribute(name) && !element.getAttribute(name).isEmpty()) {
+                        index.get(name).computeIfAbsent(element.getAttribute(name), v -> new ArrayList<>()).add(new Node(element));
+                    }
+                }
+            }
+        }
+        Map<String, List<Node>> byValue = index.get(attribute);
+        if (byValue == null) {
+            return findAllByXPath("//*[@" + attribute + "=" + LocatorTranslator.literal(value) + "]");
+        }
+        return new ArrayList<>(byValue.getOrDefault(value, Collections.emptyList()));
+    }
+
+    /**
+     * Get an attribute of the first element matching the locator, or null when there is none
+     */
+    public String getAttribute(By locator, String attribute) {
+        Node node = find(locator);
+        return node == null ? null : node.getAttribute(attribute);
+    }
+
+    /**
+     * Find the first element matching the locator, or null
+     */
+    public Node find(By locator) {
+        List<Node> nodes = findAll(locator);
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    /**
+     * Check if an element matching the locator is on the screen
+     */
+    public boolean has(By locator) {
+        return find(locator) != null;
+    }
+
+    public String getPageSource() {
+        return pageSource;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Get the screen size the snapshot was taken at, from the hierarchy root or else the outermost bounds
+     */
+    public Dimension getScreenSize() {
+        Element root = document.getDocumentElement();
+        if (!root.getAttribute("width").isEmpty() && !root.getAttribute("height").isEmpty()) {
+            return new Dimension(Integer.parseInt(root.getAttribute("width")), Integer.parseInt(root.getAttribute("height")));
+        }
+        int width = 0;
+        int height = 0;
+        for (Node node : findAllByXPath("//*[@bounds]")) {
+            Rectangle bounds = node.getBounds();
+            if (bounds != null) {
+                width = Math.max(width, bounds.getX() + bounds.getWidth());
+                height = Math.max(height, bounds.getY() + bounds.getHeight());
+            }
+        }
+        return new Dimension(width, height);
+    }
+
+    private static Document parse(String pageSource) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder().parse(new InputSource(new StringReader(pageSource)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse page source: " + e.getMessage(), e);
+        }
+    }
+
+    private static XPathExpression compile(String xpath) {
+        try {
+            return xpathThreadLocal.get().compile(xpath);
+        } catch (XPathExpressionException e) {
+            throw new RuntimeException("Invalid XPath: " + xpath, e);
+        }
+    }
+
+    /**
+     * XPath 1.0 engine with ciye:matches(value, regex), the full-match regex test UiSelector uses
+     */
+    private static XPath newXPath() {
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(String prefix) {
+                return "ciye".equals(prefix) ? LocatorTranslator.FUNCTION_NAMESPACE : XMLConstants.NULL_NS_URI;
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                return LocatorTranslator.FUNCTION_NAMESPACE.equals(namespaceURI) ? "ciye" : null;
+            }
+
+            @Override
+            public Iterator<String> getPrefixes(String namespaceURI) {
+                return Collections.singletonList(getPrefix(namespaceURI)).iterator();
+            }
+        });
+        Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+        XPathFunction matches = args -> {
+            String value = stringValue(args.get(0));
+            Pattern pattern = patterns.computeIfAbsent(stringValue(args.get(1)), Pattern::compile);
+            return pattern.matcher(value).matches();
+        };
+        xpath.setXPathFunctionResolver((QName name, int arity) ->
+                LocatorTranslator.FUNCTION_NAMESPACE.equals(name.getNamespaceURI()) &&
+                        "matches".equals(name.getLocalPart()) && arity == 2 ? matches : null);
+        return xpath;
+    }
+
+    private static String stringValue(Object argument) {
+        if (argument instanceof NodeList) {
+            NodeList nodes = (NodeList) argument;
+            return nodes.getLength() == 0 ? "" : nodes.item(0).getTextContent();
+        }
+        return String.valueOf(argument);
+    }
+}
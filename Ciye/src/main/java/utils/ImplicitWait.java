@@ -0,0 +1,42 @@
+package utils;
+
+import config.AppConfig;
+import io.appium.java_client.android.AndroidDriver;
+
+import java.time.Duration;
+
+/**
+ * Implicit Wait
+ * Turns the session's implicit wait off for probes that must return at once. Suspensions nest per thread:
+ * only the outermost one turns the wait off and back on, so a probe inside a polling wait neither sends
+ * two extra timeout commands per poll nor restores the wait while the loop still needs it off.
+ *
+ * @author Ciye Test Team
+ */
+public final class ImplicitWait {
+
+    private static final ThreadLocal<int[]> depthThreadLocal = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ImplicitWait() {
+    }
+
+    /**
+     * Turn the implicit wait off unless an enclosing suspension already did; pair with resume in a finally block
+     */
+    public static void suspend(AndroidDriver driver) {
+        int[] depth = depthThreadLocal.get();
+        if (depth[0]++ == 0) {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+    }
+
+    /**
+     * Put the configured implicit wait back when the outermost suspension ends
+     */
+    public static void resume(AndroidDriver driver) {
+        int[] depth = depthThreadLocal.get();
+        if (--depth[0] == 0) {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(AppConfig.getImplicitWait()));
+        }
+    }
+}
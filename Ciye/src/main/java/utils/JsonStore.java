@@ -0,0 +1,81 @@
+package utils;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * JSON Store
+ * Persists state learned during a run (wait latencies, scroll extents, picker calibrations) in a JSON
+ * file as {"<root>": {...}}. The file is read once on first use, by whichever thread gets there first,
+ * and written at suite end; a missing or unreadable file starts from nothing.
+ *
+ * @author Ciye Test Team
+ */
+public final class JsonStore {
+
+    private final String description;
+    private final String rootKey;
+    private final Supplier<String> file;
+    private volatile boolean loaded;
+
+    /**
+     * @param description what the file holds, for the log, e.g. "scroll extents"
+     * @param rootKey     key of the object holding the entries
+     * @param file        path of the file, read when it is first needed
+     */
+    public JsonStore(String description, String rootKey, Supplier<String> file) {
+        this.description = description;
+        this.rootKey = rootKey;
+        this.file = file;
+    }
+
+    /**
+     * Hand the saved entries to the reader once; later calls return at once
+     */
+    public void load(Consumer<JSONObject> reader) {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Path path = Paths.get(file.get());
+            if (Files.exists(path)) {
+                try {
+                    reader.accept(new JSONObject(Files.readString(path)).getJSONObject(rootKey));
+                } catch (Exception e) {
+                    LogUtils.warn("Ignoring unreadable " + description + " " + path + ": " + e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Write the entries built by the writer for the next run; nothing is written when the store was
+     * never loaded, i.e. not used in this run
+     */
+    public void save(Supplier<JSONObject> writer) {
+        if (!loaded) {
+            return;
+        }
+        JSONObject entries = writer.get();
+        Path path = Paths.get(file.get());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, new JSONObject().put(rootKey, entries).toString(2));
+            LogUtils.info("Saved " + description + " of " + entries.length() + " key(s) to " + path);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write " + description + " " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package utils;
+
+import config.AppConfig;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locator Optimizer
+ * Rewrites XPath locators, which UiAutomator2 evaluates by dumping and scanning the whole hierarchy, into
+ * native lookups. Single-step paths are translated into a UiSelector; paths the translation cannot express
+ * (child steps, since childSelector also matches deeper descendants, or parent:: axes) get an accessibility
+ * id, resource id or UiSelector derived from the matched element in the page source. Each page field is
+ * optimized on its own, so identical XPaths of different screens are each validated on their own screen.
+ * A rewrite is only adopted after it was validated on first use to find the same element, and its measured
+ * speed-up is logged; locators that cannot be rewritten keep their XPath and are logged once.
+ *
+ * @author Ciye Test Team
+ */
+public final class LocatorOptimizer {
+
+    // One step of a supported XPath: //Class[@attr='value' and ...] or /Class[...]
+    private static final Pattern STEP = Pattern.compile("//([\\w.]+|\\*)(?:\\[([^\\[\\]]+)])?");
+    private static final Pattern PREDICATE = Pattern.compile("@([\\w-]+)\\s*=\\s*'([^']*)'");
+
+    /**
+     * XPath locator that switches to its native rewrite once the rewrite was validated
+     */
+    public static final class OptimizedBy extends By {
+        private final String name;
+        private final By original;
+        private volatile By locator;
+        private volatile boolean decided;
+
+        private OptimizedBy(String name, By original) {
+            this.name = name;
+            this.original = original;
+            this.locator = original;
+        }
+
+        /**
+         * Get the locator currently used for lookups (the original until a rewrite is adopted)
+         */
+        public By getLocator() {
+            return locator;
+        }
+
+        public By getOriginal() {
+            return original;
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            List<WebElement> elements = context.findElements(locator);
+            if (!decided && !elements.isEmpty() && context instanceof AndroidDriver) {
+                optimize(this, (AndroidDriver) context);
+            }
+            return elements;
+        }
+
+        @Override
+        public WebElement findElement(SearchContext context) {
+            WebElement element = context.findElement(locator);
+            if (!decided && context instanceof AndroidDriver) {
+                optimize(this, (AndroidDriver) context);
+            }
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            // Keeps wait statistics and logs keyed by the locator as written in the page object
+            return original.toString();
+        }
+    }
+
+    /**
+     * Outcome of one optimized locator
+     */
+    public static final class Result {
+        private final String original;
+        private final String rewritten;
+        private final long originalMs;
+        private final long rewrittenMs;
+        private final String reason;
+
+        Result(String original, String rewritten, long originalMs, long rewrittenMs, String reason) {
+            this.original = original;
+            this.rewritten = rewritten;
+            this.originalMs = originalMs;
+            this.rewrittenMs = rewrittenMs;
+            this.reason = reason;
+        }
+
+        public boolean isRewritten() {
+            return rewritten != null;
+        }
+
+        @Override
+        public String toString() {
+            if (!isRewritten()) {
+                return original + " kept (" + reason + ")";
+            }
+            return original + " -> " + rewritten + ": " + originalMs + " ms -> " + rewrittenMs + " ms";
+        }
+    }
+
+    // Per page field ("Page.field") and shared by every page instance, so each field is optimized once per run
+    private static final Map<String, OptimizedBy> locators = new ConcurrentHashMap<>();
+    private static final Map<String, Result> results = new ConcurrentHashMap<>();
+
+    private LocatorOptimizer() {}
+
+    /**
+     * Wrap an XPath locator so it is rewritten on first use; other locators are returned as they are
+     *
+     * @param name page field the locator belongs to, e.g. "LoginPage.loginButton"
+     */
+    public static By optimize(String name, By locator) {
+        if (!AppConfig.isLocatorOptimizerEnabled() || getXPath(locator) == null) {
+            return locator;
+        }
+        return locators.computeIfAbsent(name, key -> new OptimizedBy(name, locator));
+    }
+
+    /**
+     * Translate a single-step XPath (//Class[@attr='value' and ...]) into an equivalent UiSelector or
+     * accessibility id, or null
+     */
+    public static By translate(String xpath) {
+        // Child steps are not translated: childSelector matches any descendant, not only direct children
+        Matcher step = STEP.matcher(xpath);
+        if (!step.matches()) {
+            return null;
+        }
+
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        if (!step.group(1).equals("*")) {
+            selector.append(".className(\"").append(step.group(1)).append("\")");
+        }
+        String contentDesc = null;
+        if (step.group(2) != null) {
+            String[] predicates = step.group(2).split("\\s+and\\s+");
+            for (String predicate : predicates) {
+                Matcher attribute = PREDICATE.matcher(predicate.trim());
+                if (!attribute.matches()) {
+                    return null;
+                }
+                String method = selectorMethod(attribute.group(1));
+                if (method == null) {
+                    return null;
+                }
+                selector.append('.').append(method).append("(\"").append(escape(attribute.group(2))).append("\")");
+                if (predicates.length == 1 && attribute.group(1).equals("content-desc")) {
+                    contentDesc = attribute.group(2);
+                }
+            }
+        }
+
+        // A lone content-desc match on any class is exactly an accessibility id lookup
+        if (contentDesc != null && step.group(1).equals("*")) {
+            return AppiumBy.accessibilityId(contentDesc);
+        }
+        return AppiumBy.androidUIAutomator(selector.toString());
+    }
+
+    /**
+     * Get a summary of every optimized locator
+     */
+    public static String getSummary() {
+        long rewritten = results.values().stream().filter(Result::isRewritten).count();
+        StringBuilder summary = new StringBuilder("Locator optimizer: " + rewritten + " of " + results.size() +
+                " XPath locators rewritten");
+        results.values().forEach(result -> summary.append("\n  ").append(result));
+        return summary.toString();
+    }
+
+    /**
+     * Find, validate and adopt a native rewrite of the locator while its element is on the screen
+     */
+    private static void optimize(OptimizedBy optimized, AndroidDriver driver) {
+        synchronized (optimized) {
+            if (optimized.decided) {
+                return;
+            }
+            optimized.decided = true;
+
+            String xpath = getXPath(optimized.original);
+            String label = optimized.name + " " + xpath;
+            ImplicitWait.suspend(driver);
+            try {
+                long start = System.currentTimeMillis();
+                List<WebElement> expected = driver.findElements(optimized.original);
+                long originalMs = System.currentTimeMillis() - start;
+                if (expected.isEmpty()) {
+                    optimized.decided = false;
+                    return;
+                }
+                Rectangle expectedRect = expected.get(0).getRect();
+
+                List<By> candidates = new ArrayList<>();
+                By translated = translate(xpath);
+                if (translated != null) {
+                    candidates.add(translated);
+                }
+                candidates.addAll(deriveFromPageSource(xpath));
+
+                for (By candidate : candidates) {
+                    start = System.currentTimeMillis();
+                    List<WebElement> actual = driver.findElements(candidate);
+                    long rewrittenMs = System.currentTimeMillis() - start;
+                    if (actual.size() == expected.size() && actual.get(0).getRect().equals(expectedRect)) {
+                        optimized.locator = candidate;
+                        record(new Result(label, candidate.toString(), originalMs, rewrittenMs, null));
+                        return;
+                    }
+                    LogUtils.debug("Rewrite " + candidate + " of " + xpath + " finds a different element");
+                }
+                record(new Result(label, null, originalMs, 0,
+                        candidates.isEmpty() ? "no native equivalent" : "no rewrite finds the same element"));
+            } catch (Exception e) {
+                record(new Result(label, null, 0, 0, "validation failed: " + e.getMessage()));
+            } finally {
+                ImplicitWait.resume(driver);
+            }
+        }
+    }
+
+    /**
+     * Native locators that single out the XPath's first match in the current page source
+     */
+    private static List<By> deriveFromPageSource(String xpath) {
+        HierarchySnapshot snapshot = HierarchySnapshot.capture();
+        List<HierarchySnapshot.Node> matches = snapshot.findAllByXPath(xpath);
+        return matches.isEmpty() ? new ArrayList<>() : deriveAlternatives(snapshot, matches);
+    }
+
+    /**
+     * Native locators built from the first match's attributes that find the same elements in the snapshot
+     */
+    public static List<By> deriveAlternatives(HierarchySnapshot snapshot, List<HierarchySnapshot.Node> matches) {
+        List<By> candidates = new ArrayList<>();
+        HierarchySnapshot.Node node = matches.get(0);
+        String className = node.getClassName();
+
+        if (!node.getContentDesc().isEmpty()) {
+            candidates.add(AppiumBy.accessibilityId(node.getContentDesc()));
+        }
+        if (!node.getAttribute("resource-id").isEmpty()) {
+            candidates.add(AppiumBy.id(node.getAttribute("resource-id")));
+        }
+        if (!node.getText().isEmpty()) {
+            candidates.add(AppiumBy.androidUIAutomator("new UiSelector().className(\"" + className + "\").text(\"" +
+                    escape(node.getText()) + "\")"));
+        }
+        if (!node.getContentDesc().isEmpty()) {
+            candidates.add(AppiumBy.androidUIAutomator("new UiSelector().className(\"" + className +
+                    "\").description(\"" + escape(node.getContentDesc()) + "\")"));
+        }
+
+        // Only candidates that match this one element in the snapshot are worth validating on the device
+        candidates.removeIf(candidate -> {
+            List<HierarchySnapshot.Node> found = snapshot.findAll(candidate);
+            return found.size() != matches.size() ||
+                    !found.get(0).getAttribute("bounds").equals(node.getAttribute("bounds"));
+        });
+        return candidates;
+    }
+
+    private static void record(Result result) {
+        results.put(result.original, result);
+        if (result.isRewritten()) {
+            LogUtils.info("Rewrote locator " + result);
+        } else {
+            LogUtils.warn("Could not rewrite locator " + result);
+        }
+    }
+
+    private static String getXPath(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return "xpath".equals(parameters.using()) ? String.valueOf(parameters.value()) : null;
+    }
+
+    private static String selectorMethod(String attribute) {
+        switch (attribute) {
+            case "text":
+                return "text";
+            case "content-desc":
+                return "description";
+            case "resource-id":
+                return "resourceId";
+            case "class":
+                return "className";
+            default:
+                return null;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
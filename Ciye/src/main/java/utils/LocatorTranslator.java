@@ -0,0 +1,172 @@
+package utils;
+
+import config.AppConfig;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locator Translator
+ * Translates locators into XPath over the UiAutomator2 page source, so they can be evaluated locally
+ * against a {@link HierarchySnapshot}. Supports xpath, accessibility id, id, class name and a subset of
+ * UiSelector (text, description, class name and resource id matchers, boolean properties, index and
+ * instance). Regex matchers use the ciye:matches() function registered by HierarchySnapshot.
+ *
+ * @author Ciye Test Team
+ */
+public final class LocatorTranslator {
+
+    public static final String FUNCTION_NAMESPACE = "urn:ciye";
+
+    private static final Pattern SELECTOR_METHOD = Pattern.compile(
+            "\\.\\s*(\\w+)\\s*\\(\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|true|false|-?\\d+)\\s*\\)");
+
+    private LocatorTranslator() {}
+
+    /**
+     * Get the XPath equivalent of a locator, or null when it cannot be evaluated on the page source
+     */
+    public static String toXPath(By locator) {
+        if (locator instanceof LocatorOptimizer.OptimizedBy) {
+            locator = ((LocatorOptimizer.OptimizedBy) locator).getOriginal();
+        }
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "xpath":
+                return value;
+            case "accessibility id":
+                return "//*[@content-desc=" + literal(value) + "]";
+            case "id":
+                String resourceId = value.contains(":id/") ? value : AppConfig.getAppPackage() + ":id/" + value;
+                return "//*[@resource-id=" + literal(resourceId) + "]";
+            case "class name":
+                return "//*[@class=" + literal(value) + "]";
+            case "-android uiautomator":
+                return uiSelectorToXPath(value);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Translate a single "new UiSelector()..." chain; null when it uses anything outside the subset
+     */
+    public static String uiSelectorToXPath(String selector) {
+        String trimmed = selector.trim();
+        if (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        if (!trimmed.startsWith("new UiSelector()")) {
+            return null;
+        }
+
+        String chain = trimmed.substring("new UiSelector()".length());
+        List<String> predicates = new ArrayList<>();
+        int instance = -1;
+        int position = 0;
+        Matcher matcher = SELECTOR_METHOD.matcher(chain);
+        while (matcher.find()) {
+            if (matcher.start() != position) {
+                return null;
+            }
+            position = matcher.end();
+
+            String method = matcher.group(1);
+            String argument = matcher.group(2);
+            String text = argument.startsWith("\"") ? unquote(argument) : argument;
+            if (method.equals("instance")) {
+                instance = Integer.parseInt(text);
+                continue;
+            }
+            String predicate = predicate(method, text);
+            if (predicate == null) {
+                return null;
+            }
+            predicates.add(predicate);
+        }
+        if (!chain.substring(position).isBlank()) {
+            return null;
+        }
+
+        String xpath = "//*" + (predicates.isEmpty() ? "" : "[" + String.join(" and ", predicates) + "]");
+        return instance >= 0 ? "(" + xpath + ")[" + (instance + 1) + "]" : xpath;
+    }
+
+    /**
+     * Quote a string as an XPath 1.0 literal
+     */
+    public static String literal(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private static String predicate(String method, String value) {
+        switch (method) {
+            case "text":
+                return "@text=" + literal(value);
+            case "textContains":
+                return "contains(@text, " + literal(value) + ")";
+            case "textStartsWith":
+                return "starts-with(@text, " + literal(value) + ")";
+            case "textMatches":
+                return "ciye:matches(@text, " + literal(value) + ")";
+            case "description":
+                return "@content-desc=" + literal(value);
+            case "descriptionContains":
+                return "contains(@content-desc, " + literal(value) + ")";
+            case "descriptionStartsWith":
+                return "starts-with(@content-desc, " + literal(value) + ")";
+            case "descriptionMatches":
+                return "ciye:matches(@content-desc, " + literal(value) + ")";
+            case "className":
+                return "@class=" + literal(value);
+            case "classNameMatches":
+                return "ciye:matches(@class, " + literal(value) + ")";
+            case "resourceId":
+                return "@resource-id=" + literal(value);
+            case "resourceIdMatches":
+                return "ciye:matches(@resource-id, " + literal(value) + ")";
+            case "index":
+                return "@index=" + literal(value);
+            case "checkable":
+            case "checked":
+            case "clickable":
+            case "enabled":
+            case "focusable":
+            case "focused":
+            case "scrollable":
+            case "selected":
+                return "@" + method + "=" + literal(value);
+            case "longClickable":
+                return "@long-clickable=" + literal(value);
+            default:
+                return null;
+        }
+    }
+
+    private static String unquote(String argument) {
+        String body = argument.substring(1, argument.length() - 1);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            // Only quotes and backslashes are escaped; regex escapes like \s stay as they are
+            if (c == '\\' && i + 1 < body.length() && (body.charAt(i + 1) == '"' || body.charAt(i + 1) == '\\')) {
+                c = body.charAt(++i);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Screen Generation
+ * Counts the commands that may change the screen, per driver session. Page sources are only valid while
+ * the change count they were read at is current: lookups, timeouts and other reads do not count, every
+ * other POST (clicks, typing, gestures, mobile: scripts, back, app and keyboard commands) and session
+ * deletes do. Element handles survive changes made through the element itself (clicks, typing, clearing)
+ * and the keyboard, so they are only dropped when the screen generation moves on: on every other change
+ * and on every screen readiness wait, i.e. after a navigation.
+ *
+ * @author Ciye Test Team
+ */
+public final class ScreenGeneration {
+
+    private static final Pattern SESSION_COMMAND = Pattern.compile("/session/([^/]+)(/.*)?$");
+
+    // Commands that only read from the device even though they are sent as POST
+    private static final Pattern READ_ONLY_POST = Pattern.compile(
+            "/elements?|/element/[^/]+/elements?|/timeouts|/appium/settings|/appium/device/(system_time|display_density)");
+
+    // Changes that keep the screen, and with it the element handles, in place
+    private static final Pattern SAME_SCREEN = Pattern.compile("/element/[^/]+/.+|/appium/device/hide_keyboard");
+
+    /**
+     * Counters of one session
+     */
+    private static final class Counters {
+        private final AtomicLong changes = new AtomicLong();
+        private final AtomicLong screens = new AtomicLong();
+    }
+
+    private static final Map<String, Counters> generations = new ConcurrentHashMap<>();
+
+    private ScreenGeneration() {}
+
+    /**
+     * Get the number of changes of the driver's session
+     */
+    public static long get(AndroidDriver driver) {
+        return counters(driver).changes.get();
+    }
+
+    /**
+     * Get the current screen generation of the driver's session
+     */
+    public static long getScreen(AndroidDriver driver) {
+        return counters(driver).screens.get();
+    }
+
+    /**
+     * Start a new screen generation, for navigations and changes made outside the driver (e.g. adb)
+     */
+    public static void bump(AndroidDriver driver) {
+        Counters counters = counters(driver);
+        counters.changes.incrementAndGet();
+        counters.screens.incrementAndGet();
+    }
+
+    /**
+     * HTTP filter bumping the session's generation after every command that may change the screen
+     */
+    public static Filter httpFilter() {
+        return next -> request -> {
+            try {
+                return next.execute(request);
+            } finally {
+                record(request);
+            }
+        };
+    }
+
+    private static void record(HttpRequest request) {
+        Matcher matcher = SESSION_COMMAND.matcher(request.getUri());
+        if (!matcher.find()) {
+            return;
+        }
+        String session = matcher.group(1);
+        String command = matcher.group(2) == null ? "" : matcher.group(2);
+        if (request.getMethod() == HttpMethod.DELETE && command.isEmpty()) {
+            generations.remove(session);
+            return;
+        }
+        boolean changes = request.getMethod() == HttpMethod.DELETE ||
+                (request.getMethod() == HttpMethod.POST && !READ_ONLY_POST.matcher(command).matches());
+        if (changes) {
+            Counters counters = counters(session);
+            counters.changes.incrementAndGet();
+            if (!SAME_SCREEN.matcher(command).matches()) {
+                counters.screens.incrementAndGet();
+            }
+        }
+    }
+
+    private static Counters counters(AndroidDriver driver) {
+        return counters(String.valueOf(driver.getSessionId()));
+    }
+
+    private static Counters counters(String session) {
+        return generations.computeIfAbsent(session, s -> new Counters());
+    }
+}
@@ -0,0 +1,166 @@
+package utils;
+
+import config.AppConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screen Readiness
+ * Waits for a screen transition to finish instead of sleeping a fixed time: a screen is ready once its
+ * readiness anchor (if any) is present and two consecutive page sources are identical, i.e. the UI
+ * hierarchy has stopped changing. Keeps track of the time spent versus the legacy fixed sleep, per test
+ * and for the whole run.
+ *
+ * @author Ciye Test Team
+ */
+public final class ScreenReadiness {
+
+    /**
+     * Readiness waits of one test
+     */
+    public static class Stats {
+        private int waits;
+        private int timeouts;
+        private long spentMs;
+        private long savedMs;
+        private long lostMs;
+
+        public int getWaits() {
+            return waits;
+        }
+
+        public int getTimeouts() {
+            return timeouts;
+        }
+
+        public long getSpentMs() {
+            return spentMs;
+        }
+
+        public long getSavedMs() {
+            return savedMs;
+        }
+
+        /**
+         * Get the time waits took beyond the fixed sleep they replaced
+         */
+        public long getLostMs() {
+            return lostMs;
+        }
+
+        @Override
+        public String toString() {
+            return waits + " readiness waits took " + spentMs + " ms, saved " + savedMs + " ms and lost " + lostMs +
+                    " ms versus fixed sleeps (" + timeouts + " timed out)";
+        }
+    }
+
+    private static final ThreadLocal<Stats> testStatsThreadLocal = ThreadLocal.withInitial(Stats::new);
+
+    private static final AtomicLong runWaits = new AtomicLong();
+    private static final AtomicLong runSpentMs = new AtomicLong();
+    private static final AtomicLong runSavedMs = new AtomicLong();
+    private static final AtomicLong runLostMs = new AtomicLong();
+
+    private ScreenReadiness() {}
+
+    /**
+     * Wait until the anchor is present and the hierarchy is stable.
+     * Without an anchor the wait never exceeds the legacy sleep; with one it waits up to wait.timeout
+     * and logs a warning (without failing) when the anchor does not show up.
+     */
+    public static void await(By anchor) {
+        AndroidDriver driver = DriverContext.getDriver();
+        long legacyMs = AppConfig.getPageSettleMaxMs();
+        long timeoutMs = anchor == null ? legacyMs : Duration.ofSeconds(AppConfig.getWaitTimeout()).toMillis();
+        long pollMs = AppConfig.getPageReadyPollMs();
+
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        boolean ready = false;
+        int previousHash = 0;
+        boolean hasPrevious = false;
+
+        // Waiting for readiness means the screen is being replaced, so element handles must be found again
+        ScreenGeneration.bump(driver);
+
+        // Probes must not block on the implicit wait while the anchor is still missing
+        TimeAccounting.Span poll = TimeAccounting.start(TimeAccounting.Category.POLL);
+        ImplicitWait.suspend(driver);
+        try {
+            while (true) {
+                int hash = driver.getPageSource().hashCode();
+                boolean stable = hasPrevious && hash == previousHash;
+                if (stable && (anchor == null || !driver.findElements(anchor).isEmpty())) {
+                    ready = true;
+                    break;
+                }
+                previousHash = hash;
+                hasPrevious = true;
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                Thread.sleep(Math.min(pollMs, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ImplicitWait.resume(driver);
+            poll.close();
+        }
+
+        long spentMs = System.currentTimeMillis() - start;
+        record(ready, spentMs, legacyMs);
+        if (!ready && anchor != null) {
+            LogUtils.warn("Screen not ready after " + spentMs + " ms, anchor missing or UI still changing: " + anchor);
+        } else {
+            LogUtils.debug("Screen ready in " + spentMs + " ms" + (anchor != null ? " (anchor " + anchor + ")" : ""));
+        }
+    }
+
+    /**
+     * Forget the readiness waits of the previous test on this thread, called when a test starts
+     */
+    public static void resetTestStats() {
+        testStatsThreadLocal.remove();
+    }
+
+    /**
+     * Get the readiness waits of the current test on this thread
+     */
+    public static Stats getTestStats() {
+        return testStatsThreadLocal.get();
+    }
+
+    /**
+     * Get a summary of the readiness waits of the whole run
+     */
+    public static String getRunSummary() {
+        return runWaits.get() + " readiness waits took " + runSpentMs.get() + " ms, saved " +
+                runSavedMs.get() + " ms and lost " + runLostMs.get() + " ms versus fixed sleeps";
+    }
+
+    private static void record(boolean ready, long spentMs, long legacyMs) {
+        // Waits longer than the fixed sleep are regressions, reported apart from the savings
+        long savedMs = Math.max(0, legacyMs - spentMs);
+        long lostMs = Math.max(0, spentMs - legacyMs);
+        Stats stats = testStatsThreadLocal.get();
+        stats.waits++;
+        stats.spentMs += spentMs;
+        stats.savedMs += savedMs;
+        stats.lostMs += lostMs;
+        if (!ready) {
+            stats.timeouts++;
+        }
+        runWaits.incrementAndGet();
+        runSpentMs.addAndGet(spentMs);
+        runSavedMs.addAndGet(savedMs);
+        runLostMs.addAndGet(lostMs);
+    }
+}
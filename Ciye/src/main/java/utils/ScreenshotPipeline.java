@@ -0,0 +1,176 @@
+package utils;
+
+import config.AppConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenshot Pipeline
+ * Runs the slow part of a screenshot - base64 decoding, Allure attachment and file writes - on a
+ * bounded pool of background threads, so the test thread only waits for the capture itself. When the
+ * queue is full the test thread runs the write itself, which bounds the memory held by pending
+ * screenshots. Each test thread flushes its own writes at test end; queue latency (submit to start)
+ * and write time are reported per run. Writes submitted after the pipeline was shut down run on the
+ * calling thread.
+ *
+ * @author Ciye Test Team
+ */
+public final class ScreenshotPipeline {
+
+    private static volatile ThreadPoolExecutor executor;
+    private static volatile boolean shutDown;
+
+    // Writes submitted by the current test thread and not flushed yet
+    private static final ThreadLocal<List<Future<?>>> pendingThreadLocal = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final AtomicLong tasks = new AtomicLong();
+    private static final AtomicLong callerRuns = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+    private static final AtomicLong totalQueueMs = new AtomicLong();
+    private static final AtomicLong maxQueueMs = new AtomicLong();
+    private static final AtomicLong totalWriteMs = new AtomicLong();
+
+    private ScreenshotPipeline() {}
+
+    /**
+     * Run a screenshot write in the background, or on the calling thread when the queue is full or the
+     * pipeline is disabled
+     */
+    public static void submit(String name, Runnable write) {
+        long submittedAt = System.currentTimeMillis();
+        Thread caller = Thread.currentThread();
+        Runnable task = () -> {
+            long startedAt = System.currentTimeMillis();
+            if (Thread.currentThread() == caller) {
+                callerRuns.incrementAndGet();
+            }
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                LogUtils.warn("Failed to write screenshot '" + name + "': " + e.getMessage());
+            } finally {
+                long queueMs = startedAt - submittedAt;
+                tasks.incrementAndGet();
+                totalQueueMs.addAndGet(queueMs);
+                maxQueueMs.accumulateAndGet(queueMs, Math::max);
+                totalWriteMs.addAndGet(System.currentTimeMillis() - startedAt);
+            }
+        };
+
+        if (!AppConfig.isScreenshotAsyncEnabled()) {
+            task.run();
+            return;
+        }
+        if (shutDown) {
+            LogUtils.warn("Screenshot pipeline is shut down, writing '" + name + "' on the calling thread");
+            task.run();
+            return;
+        }
+        pendingThreadLocal.get().add(getExecutor().submit(task));
+    }
+
+    /**
+     * Wait for the current thread's pending screenshot writes, e.g. at test end
+     */
+    public static void flush() {
+        List<Future<?>> pending = pendingThreadLocal.get();
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + AppConfig.getScreenshotFlushTimeoutMs();
+        int waited = 0;
+        for (Future<?> future : pending) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                waited++;
+            } catch (TimeoutException e) {
+                LogUtils.warn("Screenshot write still running after " + AppConfig.getScreenshotFlushTimeoutMs() +
+                        " ms, leaving it in the background");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                LogUtils.warn("Screenshot write failed: " + e.getCause());
+            }
+        }
+        pending.clear();
+        LogUtils.info("Flushed " + waited + " screenshot write(s) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Wait for all pending screenshot writes and stop the background threads, e.g. at suite end
+     */
+    public static void shutdown() {
+        shutDown = true;
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(AppConfig.getScreenshotFlushTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                LogUtils.warn("Dropping " + current.getQueue().size() + " screenshot write(s) still queued at shutdown");
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Get the run's screenshot write count, queue latency and write time
+     */
+    public static String getRunSummary() {
+        long count = tasks.get();
+        if (count == 0) {
+            return "Screenshot pipeline: no screenshots written";
+        }
+        return "Screenshot pipeline: " + count + " write(s), queue latency avg " + totalQueueMs.get() / count +
+                " ms / max " + maxQueueMs.get() + " ms, write avg " + totalWriteMs.get() / count + " ms, " +
+                callerRuns.get() + " run on the test thread, " + failures.get() + " failed";
+    }
+
+    private static ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (ScreenshotPipeline.class) {
+                current = executor;
+                if (current == null) {
+                    int threads = AppConfig.getScreenshotAsyncThreads();
+                    current = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(AppConfig.getScreenshotAsyncQueueSize()),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "screenshot-writer");
+                                thread.setDaemon(true);
+                                return thread;
+                            },
+                            ScreenshotPipeline::rejected);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Run a write the full queue rejected on the calling thread; unlike CallerRunsPolicy this also runs
+     * writes that raced with shutdown() instead of dropping them
+     */
+    private static void rejected(Runnable task, ThreadPoolExecutor rejectedBy) {
+        if (rejectedBy.isShutdown()) {
+            LogUtils.warn("Screenshot write submitted during shutdown, running it on the calling thread");
+        }
+        task.run();
+    }
+}
@@ -1,99 +1,102 @@
 package utils;
 
-import driver.DriverManager;
+import driver.DriverContext;
 import io.qameta.allure.Allure;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import java.io.ByteArrayInputStream;
 
-import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
 
 /**
  * Screenshot Utility
- * Handles screenshot capture and Allure attachment
+ * Handles screenshot capture and Allure attachment. The test thread only captures the screenshot as
+ * base64; decoding it and writing the Allure attachment or file run in the {@link ScreenshotPipeline}.
  *
  * @author Ciye Test Team
  */
 public class ScreenshotUtils {
 
     private static final String SCREENSHOT_DIR = "target/screenshots/";
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd_HHmmss");
+    // DateTimeFormatter is thread-safe, unlike SimpleDateFormat, so parallel tests can share it
+    private static final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
     /**
-     * Take screenshot and attach to Allure report
+     * Take screenshot and attach to Allure report in the background
      */
-
-    public static byte[] takeScreenshot() {
+    public static void captureScreenshot(String attachmentName) {
         try {
-            TakesScreenshot screenshot = (TakesScreenshot) DriverManager.getInstance().getDriver();
-            byte[] screenshotBytes = screenshot.getScreenshotAs(OutputType.BYTES);
-
-            LogUtils.info("Screenshot captured successfully - Size: " + screenshotBytes.length + " bytes");
+            String base64 = capture();
 
-            // Attach directly to Allure
-            Allure.addAttachment("Screenshot", "image/png", new ByteArrayInputStream(screenshotBytes), ".png");
-
-            return screenshotBytes;
+            // Registered with the running test now, so it lands in the right test whichever thread writes it
+            String source = Allure.getLifecycle().prepareAttachment(attachmentName, "image/png", ".png");
+            ScreenshotPipeline.submit(attachmentName, () -> writeAttachment(source, decode(base64)));
 
         } catch (Exception e) {
             LogUtils.error("Failed to capture screenshot: " + e.getMessage());
-            e.printStackTrace();
-            return new byte[0];
         }
     }
 
     /**
-     * Take screenshot and save to file
+     * Take screenshot on test failure and attach to Allure
      */
-    public static String takeScreenshotAsFile(String testName) {
+    public static void captureFailureScreenshot(String testName) {
         try {
-            // Create screenshot directory if not exists
-            File screenshotDir = new File(SCREENSHOT_DIR);
-            if (!screenshotDir.exists()) {
-                screenshotDir.mkdirs();
-            }
-
-            // Take screenshot
-            TakesScreenshot screenshot = DriverManager.getInstance().getDriver();
-            File sourceFile = screenshot.getScreenshotAs(OutputType.FILE);
-
-            // Generate file name with timestamp
-            String timestamp = dateFormat.format(new Date());
-            String fileName = testName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + fileName;
+            // One capture serves both the Allure attachment and the backup file
+            String base64 = capture();
+            String source = Allure.getLifecycle().prepareAttachment("Screenshot", "image/png", ".png");
+            String filePath = newFilePath(testName + "_FAILURE");
 
-            // Copy screenshot to destination
-            File destFile = new File(filePath);
-            FileUtils.copyFile(sourceFile, destFile);
+            ScreenshotPipeline.submit(filePath, () -> {
+                byte[] screenshotBytes = decode(base64);
+                writeAttachment(source, screenshotBytes);
+                writeFile(filePath, screenshotBytes);
+            });
 
-            LogUtils.info("Screenshot saved to: " + filePath);
-            return filePath;
+            LogUtils.info("Failure screenshot captured for test: " + testName);
 
-        } catch (IOException e) {
-            LogUtils.error("Failed to save screenshot: " + e.getMessage());
-            return null;
+        } catch (Exception e) {
+            LogUtils.error("Failed to capture failure screenshot: " + e.getMessage());
         }
     }
 
     /**
-     * Take screenshot on test failure and attach to Allure
+     * Capture the screen as the base64 the driver sends, leaving the decoding to the pipeline
      */
-    public static void captureFailureScreenshot(String testName) {
-        try {
-            // Take screenshot as bytes for Allure
-            byte[] screenshotBytes = takeScreenshot();
+    private static String capture() {
+        TakesScreenshot screenshot = DriverContext.getDriver();
+        return screenshot.getScreenshotAs(OutputType.BASE64);
+    }
 
-            // Also save as file for backup
-            takeScreenshotAsFile(testName + "_FAILURE");
+    private static byte[] decode(String base64) {
+        return Base64.getMimeDecoder().decode(base64);
+    }
 
-            LogUtils.info("Failure screenshot captured for test: " + testName);
+    private static String newFilePath(String testName) {
+        String timestamp = LocalDateTime.now().format(dateFormat);
+        return SCREENSHOT_DIR + testName + "_" + timestamp + ".png";
+    }
 
-        } catch (Exception e) {
-            LogUtils.error("Failed to capture failure screenshot: " + e.getMessage());
+    private static void writeAttachment(String source, byte[] screenshotBytes) {
+        Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(screenshotBytes));
+        LogUtils.info("Screenshot attached - Size: " + screenshotBytes.length + " bytes");
+    }
+
+    private static void writeFile(String filePath, byte[] screenshotBytes) {
+        try {
+            Path file = Paths.get(filePath);
+            Files.createDirectories(file.getParent());
+            Files.write(file, screenshotBytes);
+            LogUtils.info("Screenshot saved to: " + filePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
\ No newline at end of file
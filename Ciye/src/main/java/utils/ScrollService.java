@@ -0,0 +1,237 @@
+package utils;
+
+import config.AppConfig;
+import config.DeviceConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scroll Service
+ * Scrolls a screen until an element is visible: one drag of a fixed distance, then one page source to
+ * check for the target, so scrolling stops on the first drag that brings it into view. The end of the
+ * list is detected when a drag leaves the hierarchy's fingerprint unchanged, after which the scan turns
+ * back once. How many drags each target took is remembered per device and screen and persisted between
+ * runs, so later runs jump to a known target with all drags in one gesture call.
+ *
+ * @author Ciye Test Team
+ */
+public final class ScrollService {
+
+    // Drags run between these fractions of the scroll area, and hold before lifting so the list does not fling
+    private static final double DRAG_FROM = 0.75;
+    private static final double DRAG_TO = 0.25;
+    private static final Duration DRAG_DURATION = Duration.ofMillis(400);
+
+    // Lets the list settle after the last drag of a gesture before the page source is read
+    private static final Duration SETTLE = Duration.ofMillis(150);
+
+    // Extent key of a screen's end of list, next to its targets
+    private static final String END_OF_LIST = "<end>";
+
+    // Drags down the list per "device/screen" and target (or end of list)
+    private static final Map<String, Map<String, Integer>> extents = new ConcurrentHashMap<>();
+    private static final JsonStore store = new JsonStore("scroll extents", "screens", AppConfig::getScrollExtentsFile);
+
+    private ScrollService() {}
+
+    /**
+     * Scroll the screen until an element matching the locator is visible and return it
+     *
+     * @param screen name the scroll extent is remembered under, e.g. the page class
+     */
+    public static HierarchySnapshot.Node scrollTo(String screen, By target) {
+        AndroidDriver driver = DriverContext.getDriver();
+        Map<String, Integer> screenExtents = getExtents(screen);
+        String targetKey = target.toString();
+
+        HierarchySnapshot snapshot = HierarchySnapshot.capture();
+        HierarchySnapshot.Node node = findVisible(snapshot, target);
+        if (node != null) {
+            return node;
+        }
+
+        // Jump straight to where the target was found before
+        Integer known = screenExtents.get(targetKey);
+        int position = 0;
+        if (known != null && known > 0) {
+            drag(driver, snapshot, known, true);
+            position = known;
+            snapshot = HierarchySnapshot.capture();
+            node = findVisible(snapshot, target);
+            if (node != null) {
+                LogUtils.info("Scrolled " + screen + " to " + target + " with " + known + " remembered drag(s)");
+                return node;
+            }
+            LogUtils.info("Remembered extent of " + target + " on " + screen + " is outdated, scanning");
+        }
+
+        // Scan down until the list stops moving, then back up once
+        int maxDrags = AppConfig.getScrollMaxDrags();
+        int drags = 0;
+        boolean down = true;
+        long fingerprint = fingerprint(snapshot);
+        while (drags < maxDrags) {
+            drag(driver, snapshot, 1, down);
+            drags++;
+            position += down ? 1 : -1;
+            snapshot = HierarchySnapshot.capture();
+
+            node = findVisible(snapshot, target);
+            if (node != null) {
+                LogUtils.info("Scrolled " + screen + " to " + target + " after " + drags + " drag(s)");
+                // Drags from the top of the list, assuming the screen opened there
+                screenExtents.put(targetKey, Math.max(0, position));
+                return node;
+            }
+
+            long next = fingerprint(snapshot);
+            if (next == fingerprint) {
+                if (!down) {
+                    break;
+                }
+                // End of the list: the drag did not move it
+                position--;
+                screenExtents.put(END_OF_LIST, position);
+                LogUtils.debug("Reached end of " + screen + " after " + position + " drag(s), scanning back up");
+                down = false;
+            }
+            fingerprint = next;
+        }
+        throw new NotFoundException("Element not found while scrolling " + screen + " (" + drags + " drags): " + target);
+    }
+
+    /**
+     * Scroll the screen to the end of its list, in one gesture call when its extent is known
+     */
+    public static void scrollToEnd(String screen) {
+        AndroidDriver driver = DriverContext.getDriver();
+        Map<String, Integer> screenExtents = getExtents(screen);
+        HierarchySnapshot snapshot = HierarchySnapshot.capture();
+
+        Integer known = screenExtents.get(END_OF_LIST);
+        if (known != null && known > 0) {
+            drag(driver, snapshot, known, true);
+            snapshot = HierarchySnapshot.capture();
+        }
+
+        long fingerprint = fingerprint(snapshot);
+        int drags = 0;
+        while (drags < AppConfig.getScrollMaxDrags()) {
+            drag(driver, snapshot, 1, true);
+            snapshot = HierarchySnapshot.capture();
+            long next = fingerprint(snapshot);
+            if (next == fingerprint) {
+                break;
+            }
+            drags++;
+            fingerprint = next;
+        }
+        if (known == null || drags > 0) {
+            screenExtents.put(END_OF_LIST, (known == null ? 0 : known) + drags);
+        }
+        LogUtils.info("Scrolled " + screen + " to the end (" + (known == null ? 0 : known) + " remembered, " +
+                drags + " scanned drag(s))");
+    }
+
+    /**
+     * Persist the scroll extents for the next run
+     */
+    public static void save() {
+        store.save(() -> {
+            JSONObject screens = new JSONObject();
+            extents.forEach((screen, byKey) -> screens.put(screen, new JSONObject(byKey)));
+            return screens;
+        });
+    }
+
+    /**
+     * Get the element matching the locator if its center is inside the scroll area, or null
+     */
+    private static HierarchySnapshot.Node findVisible(HierarchySnapshot snapshot, By target) {
+        Rectangle area = scrollArea(snapshot);
+        for (HierarchySnapshot.Node node : snapshot.findAll(target)) {
+            Point center = node.getCenter();
+            if (node.isDisplayed() && center != null &&
+                    center.getY() > area.getY() && center.getY() < area.getY() + area.getHeight()) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drag the list by a fixed distance the given number of times, in one gesture call
+     */
+    private static void drag(AndroidDriver driver, HierarchySnapshot snapshot, int times, boolean down) {
+        Rectangle area = scrollArea(snapshot);
+        int x = area.getX() + area.getWidth() / 2;
+        int from = area.getY() + (int) (area.getHeight() * (down ? DRAG_FROM : DRAG_TO));
+        int to = area.getY() + (int) (area.getHeight() * (down ? DRAG_TO : DRAG_FROM));
+        GestureComposer.compose()
+                .repeat(times, gesture -> gesture.drag(new Point(x, from), new Point(x, to), DRAG_DURATION))
+                .pause(SETTLE)
+                .perform(driver);
+    }
+
+    /**
+     * Get the bounds of the largest scrollable container, or the whole screen when there is none
+     */
+    private static Rectangle scrollArea(HierarchySnapshot snapshot) {
+        Rectangle largest = null;
+        for (HierarchySnapshot.Node node : snapshot.findAllByXPath("//*[@scrollable='true']")) {
+            Rectangle bounds = node.getBounds();
+            if (bounds != null && (largest == null ||
+                    (long) bounds.getWidth() * bounds.getHeight() > (long) largest.getWidth() * largest.getHeight())) {
+                largest = bounds;
+            }
+        }
+        if (largest != null) {
+            return largest;
+        }
+        Dimension screen = snapshot.getScreenSize();
+        return new Rectangle(0, 0, screen.getHeight(), screen.getWidth());
+    }
+
+    /**
+     * Hash of the text, description and bounds of every element; it stays the same when a drag did not
+     * move the list
+     */
+    private static long fingerprint(HierarchySnapshot snapshot) {
+        List<HierarchySnapshot.Node> nodes = snapshot.findAllByXPath("//*[@bounds]");
+        long hash = nodes.size();
+        for (HierarchySnapshot.Node node : nodes) {
+            hash = 31 * hash + (node.getText() + '|' + node.getContentDesc() + '|' + node.getAttribute("bounds")).hashCode();
+        }
+        return hash;
+    }
+
+    private static Map<String, Integer> getExtents(String screen) {
+        load();
+        String device = DriverContext.isBound() && DriverContext.getDeviceId() != null
+                ? DriverContext.getDeviceId() : DeviceConfig.getDeviceUDID();
+        return extents.computeIfAbsent(device + "/" + screen, k -> new ConcurrentHashMap<>());
+    }
+
+    private static void load() {
+        store.load(screens -> {
+            for (String screen : screens.keySet()) {
+                JSONObject keys = screens.getJSONObject(screen);
+                Map<String, Integer> byKey = extents.computeIfAbsent(screen, d -> new ConcurrentHashMap<>());
+                for (String key : keys.keySet()) {
+                    byKey.put(key, keys.getInt(key));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Spatial Query
+ * Filters the candidates of a locator by where they are on the screen, for elements that have no
+ * attribute to find them by (e.g. the profile button in the top-right corner). Candidates come with
+ * their bounds and attributes from one page source, so a heuristic lookup costs one round trip instead
+ * of one getRect per candidate.
+ *
+ * @author Ciye Test Team
+ */
+public final class SpatialQuery {
+
+    /**
+     * Part of the screen, in fractions of its width and height
+     */
+    public static final class Region {
+        public static final Region TOP_LEFT = new Region(0.0, 0.0, 0.2, 0.15);
+        public static final Region TOP_RIGHT = new Region(0.8, 0.0, 1.0, 0.15);
+        public static final Region BOTTOM = new Region(0.0, 0.85, 1.0, 1.0);
+
+        private final double left;
+        private final double top;
+        private final double right;
+        private final double bottom;
+
+        private Region(double left, double top, double right, double bottom) {
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+        }
+
+        /**
+         * Create a region from fractions (0-1) of the screen's width and height
+         */
+        public static Region of(double left, double top, double right, double bottom) {
+            return new Region(left, top, right, bottom);
+        }
+
+        boolean contains(Point point, Dimension screen) {
+            return point.getX() >= left * screen.getWidth() && point.getX() <= right * screen.getWidth() &&
+                    point.getY() >= top * screen.getHeight() && point.getY() <= bottom * screen.getHeight();
+        }
+
+        Point getCorner(Dimension screen) {
+            // The corner of the screen the region is anchored to, e.g. the top-right corner for TOP_RIGHT
+            int x = left + right > 1.0 ? screen.getWidth() : left + right < 1.0 ? 0 : screen.getWidth() / 2;
+            int y = top + bottom > 1.0 ? screen.getHeight() : top + bottom < 1.0 ? 0 : screen.getHeight() / 2;
+            return new Point(x, y);
+        }
+
+        @Override
+        public String toString() {
+            return "region[" + left + "," + top + " - " + right + "," + bottom + "]";
+        }
+    }
+
+    private final HierarchySnapshot snapshot;
+    private final List<HierarchySnapshot.Node> candidates;
+
+    private SpatialQuery(HierarchySnapshot snapshot, List<HierarchySnapshot.Node> candidates) {
+        this.snapshot = snapshot;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Query the on-screen elements matching the locator in the snapshot
+     */
+    public static SpatialQuery of(HierarchySnapshot snapshot, By locator) {
+        List<HierarchySnapshot.Node> nodes = snapshot.findAll(locator).stream()
+                .filter(node -> node.getBounds() != null)
+                .collect(Collectors.toList());
+        return new SpatialQuery(snapshot, nodes);
+    }
+
+    /**
+     * Keep the candidates whose center lies in the region
+     */
+    public SpatialQuery inRegion(Region region) {
+        Dimension screen = snapshot.getScreenSize();
+        return new SpatialQuery(snapshot, candidates.stream()
+                .filter(node -> region.contains(node.getCenter(), screen))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Order the candidates by the distance of their center to the point, nearest first
+     */
+    public SpatialQuery nearestTo(Point point) {
+        List<HierarchySnapshot.Node> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparingDouble(node -> distance(node.getCenter(), point)));
+        return new SpatialQuery(snapshot, sorted);
+    }
+
+    /**
+     * Order the candidates by the distance of their center to the anchor element's center, nearest first;
+     * the anchor itself is left out
+     */
+    public SpatialQuery nearestTo(HierarchySnapshot.Node anchor) {
+        Rectangle anchorBounds = anchor.getBounds();
+        List<HierarchySnapshot.Node> others = candidates.stream()
+                .filter(node -> !node.getBounds().equals(anchorBounds))
+                .collect(Collectors.toList());
+        return new SpatialQuery(snapshot, others).nearestTo(anchor.getCenter());
+    }
+
+    /**
+     * Order the candidates by the distance to the corner the region is anchored to, nearest first
+     */
+    public SpatialQuery nearestToCorner(Region region) {
+        return nearestTo(region.getCorner(snapshot.getScreenSize()));
+    }
+
+    /**
+     * Get the first candidate, or null when none is left
+     */
+    public HierarchySnapshot.Node first() {
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    public List<HierarchySnapshot.Node> list() {
+        return new ArrayList<>(candidates);
+    }
+
+    public int size() {
+        return candidates.size();
+    }
+
+    private static double distance(Point a, Point b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
@@ -0,0 +1,237 @@
+package utils;
+
+import config.AppConfig;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Time Accounting
+ * Attributes the running test's time to sleeps, polling waits, driver commands and gestures, per test and
+ * per step (the last AllureUtils.step). Spans nest and every span is charged its exclusive self-time, so a
+ * wait is charged for its polling and the driver commands it sends are charged as driver commands.
+ * Driver commands are measured by an HTTP filter on the driver's client; gestures are the W3C actions
+ * endpoint and the mobile: *Gesture scripts.
+ *
+ * @author Ciye Test Team
+ */
+public final class TimeAccounting {
+
+    /**
+     * Kinds of time a test is charged for
+     */
+    public enum Category {
+        SLEEP,
+        POLL,
+        DRIVER_COMMAND,
+        GESTURE
+    }
+
+    /**
+     * One timed region; closing it charges its self-time to the current test and step
+     */
+    public static final class Span implements AutoCloseable {
+        private final Category category;
+        private final long startNanos;
+        private long childNanos;
+
+        private Span(Category category) {
+            this.category = category;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            Deque<Span> spans = spansThreadLocal.get();
+            spans.remove(this);
+            Span parent = spans.peek();
+            if (parent != null) {
+                parent.childNanos += elapsedNanos;
+            }
+            testThreadLocal.get().charge(category, (elapsedNanos - childNanos) / 1_000_000);
+        }
+    }
+
+    /**
+     * Time breakdown of one test
+     */
+    public static final class TestTimes {
+        private final long startedAt = System.currentTimeMillis();
+        private final Map<Category, Long> totals = new EnumMap<>(Category.class);
+        private final Map<String, Map<Category, Long>> steps = new LinkedHashMap<>();
+        private String step = "setup";
+
+        private void charge(Category category, long ms) {
+            totals.merge(category, ms, Long::sum);
+            steps.computeIfAbsent(step, s -> new EnumMap<>(Category.class)).merge(category, ms, Long::sum);
+        }
+
+        public long getMs(Category category) {
+            return totals.getOrDefault(category, 0L);
+        }
+
+        public JSONObject toJson(String testName) {
+            JSONObject json = new JSONObject()
+                    .put("test", testName)
+                    .put("wallMs", System.currentTimeMillis() - startedAt)
+                    .put("totals", categories(totals));
+            JSONArray stepsJson = new JSONArray();
+            steps.forEach((name, times) -> stepsJson.put(new JSONObject().put("step", name).put("times", categories(times))));
+            return json.put("steps", stepsJson);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder();
+            for (Category category : Category.values()) {
+                summary.append(summary.length() == 0 ? "" : ", ").append(category).append('=').append(getMs(category)).append(" ms");
+            }
+            return summary + " (wall " + (System.currentTimeMillis() - startedAt) + " ms)";
+        }
+
+        private static JSONObject categories(Map<Category, Long> times) {
+            JSONObject json = new JSONObject();
+            for (Category category : Category.values()) {
+                json.put(category.name(), times.getOrDefault(category, 0L));
+            }
+            return json;
+        }
+    }
+
+    private static final ThreadLocal<Deque<Span>> spansThreadLocal = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<TestTimes> testThreadLocal = ThreadLocal.withInitial(TestTimes::new);
+
+    // Finished tests of the whole run, written to the run report at suite end
+    private static final List<JSONObject> finishedTests = new CopyOnWriteArrayList<>();
+
+    private TimeAccounting() {}
+
+    /**
+     * Start a span on the current thread; close it in a finally block
+     */
+    public static Span start(Category category) {
+        Span span = new Span(category);
+        spansThreadLocal.get().push(span);
+        return span;
+    }
+
+    /**
+     * Sleep, charged as SLEEP; an interrupt ends the sleep early and keeps the thread's interrupt flag
+     */
+    public static void sleep(long millis) {
+        Span span = start(Category.SLEEP);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Attribute the following time of the current test to a step
+     */
+    public static void step(String stepName) {
+        testThreadLocal.get().step = stepName;
+    }
+
+    /**
+     * Start accounting a new test on this thread, called before the test's setup
+     */
+    public static void startTest() {
+        testThreadLocal.remove();
+        spansThreadLocal.remove();
+    }
+
+    /**
+     * Get the breakdown of the current test on this thread
+     */
+    public static TestTimes getTestTimes() {
+        return testThreadLocal.get();
+    }
+
+    /**
+     * Finish the current test: add its breakdown to the run report and return it as JSON
+     */
+    public static JSONObject finishTest(String testName) {
+        JSONObject json = testThreadLocal.get().toJson(testName);
+        // A test skipped before its setUp must not be charged the previous test's times
+        testThreadLocal.remove();
+        finishedTests.add(json);
+        return json;
+    }
+
+    /**
+     * Write the breakdown of every finished test to a new run report file
+     */
+    public static void writeRunReport() {
+        if (finishedTests.isEmpty()) {
+            return;
+        }
+        Map<Category, Long> totals = new EnumMap<>(Category.class);
+        for (JSONObject test : finishedTests) {
+            JSONObject testTotals = test.getJSONObject("totals");
+            for (Category category : Category.values()) {
+                totals.merge(category, testTotals.getLong(category.name()), Long::sum);
+            }
+        }
+
+        JSONObject report = new JSONObject()
+                .put("totals", TestTimes.categories(totals))
+                .put("tests", new JSONArray(Collections.unmodifiableList(finishedTests)));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path file = Paths.get(AppConfig.getTimeAccountingDir(), "run_" + timestamp + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report.toString(2));
+            LogUtils.info("Time accounting of " + finishedTests.size() + " test(s) written to " + file);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write time accounting report " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * HTTP filter timing every command the driver sends, for the driver's ClientConfig
+     */
+    public static Filter httpFilter() {
+        return next -> request -> {
+            Span span = start(isGesture(request) ? Category.GESTURE : Category.DRIVER_COMMAND);
+            try {
+                return next.execute(request);
+            } finally {
+                span.close();
+            }
+        };
+    }
+
+    private static boolean isGesture(HttpRequest request) {
+        String uri = request.getUri();
+        if (uri.endsWith("/actions")) {
+            return true;
+        }
+        if (uri.endsWith("/execute/sync")) {
+            String body = Contents.string(request);
+            return body.contains("mobile: ") && body.contains("Gesture");
+        }
+        return false;
+    }
+}
@@ -1,46 +1,37 @@
 package utils;
 
 import config.AppConfig;
-import driver.DriverManager;
-import driver.ThreadLocalDriverManager;
+import driver.DriverContext;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Wait Utility
- * Provides various wait methods for element interactions
+ * Provides various wait methods for element interactions, polled by AdaptiveWait
  *
  * @author Ciye Test Team
  */
 public class WaitUtils {
 
-    // Replace the getDriver() method:
     private static AndroidDriver getDriver() {
-        return DriverManager.getInstance().getDriver();
+        return DriverContext.getDriver();
     }
 
 
-    private static WebDriverWait getWait() {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(AppConfig.getWaitTimeout()));
-    }
-
-    private static WebDriverWait getWait(int timeoutInSeconds) {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutInSeconds));
-    }
-
     /**
      * Wait for element to be present
      */
     public static WebElement waitForElementPresent(By locator) {
         try {
             LogUtils.debug("Waiting for element to be present: " + locator);
-            WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = AdaptiveWait.until(locator, "present", ExpectedConditions.presenceOfElementLocated(locator), AppConfig.getWaitTimeout());
             LogUtils.debug("Element found: " + locator);
             return element;
         } catch (Exception e) {
@@ -55,7 +46,7 @@ public class WaitUtils {
     public static WebElement waitForElementPresent(By locator, int timeoutInSeconds) {
         try {
             LogUtils.debug("Waiting for element to be present: " + locator + " (timeout: " + timeoutInSeconds + "s)");
-            WebElement element = getWait(timeoutInSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = AdaptiveWait.until(locator, "present", ExpectedConditions.presenceOfElementLocated(locator), timeoutInSeconds);
             LogUtils.debug("Element found: " + locator);
             return element;
         } catch (Exception e) {
@@ -71,7 +62,7 @@ public class WaitUtils {
     public static WebElement waitForElementVisible(By locator, int timeoutInSeconds) {
         try {
             LogUtils.debug("Waiting for element to be visible: " + locator + " (timeout: " + timeoutInSeconds + "s)");
-            WebElement element = getWait(timeoutInSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = AdaptiveWait.until(locator, "visible", ExpectedConditions.visibilityOfElementLocated(locator), timeoutInSeconds);
             LogUtils.debug("Element is visible: " + locator);
             return element;
         } catch (Exception e) {
@@ -86,7 +77,7 @@ public class WaitUtils {
     public static WebElement waitForElementClickable(By locator) {
         try {
             LogUtils.debug("Waiting for element to be clickable: " + locator);
-            WebElement element = getWait().until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = AdaptiveWait.until(locator, "clickable", ExpectedConditions.elementToBeClickable(locator), AppConfig.getWaitTimeout());
             LogUtils.debug("Element is clickable: " + locator);
             return element;
         } catch (Exception e) {
@@ -107,7 +98,7 @@ public class WaitUtils {
     public static WebElement waitForElementClickable(By locator, int timeoutInSeconds) {
         try {
             LogUtils.debug("Waiting for element to be clickable: " + locator + " (timeout: " + timeoutInSeconds + "s)");
-            WebElement element = getWait(timeoutInSeconds).until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = AdaptiveWait.until(locator, "clickable", ExpectedConditions.elementToBeClickable(locator), timeoutInSeconds);
             LogUtils.debug("Element is clickable: " + locator);
             return element;
         } catch (Exception e) {
@@ -122,7 +113,7 @@ public class WaitUtils {
     public static List<WebElement> waitForElementsPresent(By locator) {
         try {
             LogUtils.debug("Waiting for elements to be present: " + locator);
-            List<WebElement> elements = getWait().until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            List<WebElement> elements = AdaptiveWait.until(locator, "all present", ExpectedConditions.presenceOfAllElementsLocatedBy(locator), AppConfig.getWaitTimeout());
             LogUtils.debug("Elements found: " + elements.size() + " elements for " + locator);
             return elements;
         } catch (Exception e) {
@@ -137,7 +128,7 @@ public class WaitUtils {
     public static boolean waitForTextInElement(By locator, String text) {
         try {
             LogUtils.debug("Waiting for text '" + text + "' in element: " + locator);
-            boolean result = getWait().until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            boolean result = AdaptiveWait.until(locator, "text", ExpectedConditions.textToBePresentInElementLocated(locator, text), AppConfig.getWaitTimeout());
             LogUtils.debug("Text found in element: " + locator);
             return result;
         } catch (Exception e) {
@@ -152,7 +143,7 @@ public class WaitUtils {
     public static boolean waitForElementToDisappear(By locator) {
         try {
             LogUtils.debug("Waiting for element to disappear: " + locator);
-            boolean result = getWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            boolean result = AdaptiveWait.until(locator, "gone", ExpectedConditions.invisibilityOfElementLocated(locator), AppConfig.getWaitTimeout());
             LogUtils.debug("Element disappeared: " + locator);
             return result;
         } catch (Exception e) {
@@ -162,14 +153,144 @@ public class WaitUtils {
     }
 
     /**
-     * Check if element is present without waiting
+     * Check if element is present right now, in one page source round trip and without the implicit wait
      */
     public static boolean isElementPresent(By locator) {
         try {
-            getDriver().findElement(locator);
-            return true;
+            if (HierarchySnapshot.isSupported(locator)) {
+                return HierarchySnapshot.capture().has(locator);
+            }
+            return !findElementsNow(locator).isEmpty();
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Check if element is displayed right now, without waiting for it
+     */
+    public static boolean isElementDisplayed(By locator) {
+        try {
+            if (HierarchySnapshot.isSupported(locator)) {
+                HierarchySnapshot.Node node = HierarchySnapshot.capture().find(locator);
+                return node != null && node.isDisplayed();
+            }
+            List<WebElement> elements = findElementsNow(locator);
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wait until element is absent, returning as soon as one probe confirms it (false when it is still there
+     * after the timeout). A probe that fails proves nothing and is retried; when the last probe failed, its
+     * error is thrown instead of reporting the element absent or present.
+     */
+    public static boolean waitForElementAbsent(By locator, long timeoutMs) {
+        LogUtils.debug("Waiting for element to be absent: " + locator + " (timeout: " + timeoutMs + "ms)");
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        // Live probes run with the implicit wait off for the whole loop rather than toggling it per probe
+        boolean live = !HierarchySnapshot.isSupported(locator);
+        AndroidDriver driver = getDriver();
+        TimeAccounting.Span poll = TimeAccounting.start(TimeAccounting.Category.POLL);
+        if (live) {
+            ImplicitWait.suspend(driver);
+        }
+        try {
+            while (true) {
+                RuntimeException probeError = null;
+                try {
+                    boolean present = live
+                            ? !driver.findElements(locator).isEmpty() : HierarchySnapshot.capture().has(locator);
+                    if (!present) {
+                        LogUtils.debug("Element absent: " + locator);
+                        return true;
+                    }
+                } catch (RuntimeException e) {
+                    LogUtils.debug("Absence probe failed, retrying: " + e.getMessage());
+                    probeError = e;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    if (probeError != null) {
+                        throw probeError;
+                    }
+                    LogUtils.debug("Element still present after " + timeoutMs + "ms: " + locator);
+                    return false;
+                }
+                try {
+                    Thread.sleep(Math.min(AppConfig.getAdaptiveWaitMinPollMs(), remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        } finally {
+            if (live) {
+                ImplicitWait.resume(driver);
+            }
+            poll.close();
+        }
+    }
+
+    /**
+     * Wait until any of the outcomes' elements is present and return the first such outcome, in the
+     * map's iteration order. Every tick probes all outcomes against one page source.
+     */
+    public static <T> T waitForAnyOf(Map<T, By> outcomes, int timeoutInSeconds) {
+        LogUtils.debug("Waiting for any of: " + outcomes.keySet() + " (timeout: " + timeoutInSeconds + "s)");
+        long start = System.currentTimeMillis();
+        long deadline = start + Duration.ofSeconds(timeoutInSeconds).toMillis();
+        boolean live = !outcomes.values().stream().allMatch(HierarchySnapshot::isSupported);
+        AndroidDriver driver = getDriver();
+        TimeAccounting.Span poll = TimeAccounting.start(TimeAccounting.Category.POLL);
+        if (live) {
+            ImplicitWait.suspend(driver);
+        }
+        try {
+            while (true) {
+                HierarchySnapshot snapshot = HierarchySnapshot.capture();
+                for (Map.Entry<T, By> outcome : outcomes.entrySet()) {
+                    By locator = outcome.getValue();
+                    boolean present = HierarchySnapshot.isSupported(locator)
+                            ? snapshot.has(locator) : !driver.findElements(locator).isEmpty();
+                    if (present) {
+                        LogUtils.debug("Outcome " + outcome.getKey() + " after " + (System.currentTimeMillis() - start) + "ms");
+                        return outcome.getKey();
+                    }
+                }
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    LogUtils.error("None of " + outcomes.keySet() + " appeared within timeout");
+                    throw new TimeoutException("None of " + outcomes.values() + " appeared within " + timeoutInSeconds + "s");
+                }
+                try {
+                    Thread.sleep(Math.min(AppConfig.getAdaptiveWaitMinPollMs(), remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TimeoutException("Interrupted while waiting for any of " + outcomes.keySet(), e);
+                }
+            }
+        } finally {
+            if (live) {
+                ImplicitWait.resume(driver);
+            }
+            poll.close();
+        }
+    }
+
+    /**
+     * Find elements the snapshot cannot evaluate without blocking on the implicit wait
+     */
+    private static List<WebElement> findElementsNow(By locator) {
+        AndroidDriver driver = getDriver();
+        ImplicitWait.suspend(driver);
+        try {
+            return driver.findElements(locator);
+        } finally {
+            ImplicitWait.resume(driver);
+        }
+    }
 }
\ No newline at end of file
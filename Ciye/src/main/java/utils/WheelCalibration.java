@@ -0,0 +1,137 @@
+package utils;
+
+import config.AppConfig;
+import config.VirtualDeviceConfig;
+import driver.DriverContext;
+import org.json.JSONObject;
+import org.openqa.selenium.Dimension;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wheel Calibration
+ * Geometry of a picker wheel measured on a device: the distance between neighbouring items, the order
+ * of the values from top to bottom and the visible window with the selected slot in its middle.
+ * Calibrations are kept per device profile (resolution and density of the device's
+ * {@link VirtualDeviceConfig.DeviceInfo}), since the wheel's geometry only depends on those, and are
+ * persisted between runs.
+ *
+ * @author Ciye Test Team
+ */
+public final class WheelCalibration {
+
+    // Calibrations per "profile/picker"
+    private static final Map<String, WheelCalibration> calibrations = new ConcurrentHashMap<>();
+    private static final JsonStore store = new JsonStore("picker calibrations", "pickers", AppConfig::getWheelCalibrationFile);
+
+    private final double itemHeight;
+    private final int direction;
+    private final int x;
+    private final int windowTop;
+    private final int windowBottom;
+
+    /**
+     * @param itemHeight pixels between the centers of neighbouring items
+     * @param direction  1 when the values' order runs down the wheel, -1 when it runs up
+     * @param x          horizontal center of the wheel
+     * @param windowTop  top of the visible items
+     * @param windowBottom bottom of the visible items
+     */
+    public WheelCalibration(double itemHeight, int direction, int x, int windowTop, int windowBottom) {
+        this.itemHeight = itemHeight;
+        this.direction = direction;
+        this.x = x;
+        this.windowTop = windowTop;
+        this.windowBottom = windowBottom;
+    }
+
+    public double getItemHeight() {
+        return itemHeight;
+    }
+
+    public int getDirection() {
+        return direction;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getWindowTop() {
+        return windowTop;
+    }
+
+    public int getWindowBottom() {
+        return windowBottom;
+    }
+
+    /**
+     * Get the vertical center of the selected slot
+     */
+    public int getCenterY() {
+        return (windowTop + windowBottom) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "item height " + Math.round(itemHeight) + " px, direction " + direction + ", window " + windowTop +
+                "-" + windowBottom;
+    }
+
+    /**
+     * Get the calibration of a picker on the current device profile, or null when it was never measured
+     */
+    public static WheelCalibration get(String picker, Dimension screen) {
+        load();
+        return calibrations.get(getDeviceProfile(screen) + "/" + picker);
+    }
+
+    /**
+     * Store the calibration of a picker on the current device profile
+     */
+    public static void put(String picker, Dimension screen, WheelCalibration calibration) {
+        load();
+        calibrations.put(getDeviceProfile(screen) + "/" + picker, calibration);
+        LogUtils.debug("Calibrated " + picker + " picker on " + getDeviceProfile(screen) + ": " + calibration);
+    }
+
+    /**
+     * Get the current device's profile: resolution and density of the leased device, or the screen size
+     * when the thread runs without a device from VirtualDeviceConfig
+     */
+    public static String getDeviceProfile(Dimension screen) {
+        VirtualDeviceConfig.DeviceInfo device = DriverContext.isBound() && DriverContext.getDeviceId() != null
+                ? VirtualDeviceConfig.getDeviceInfo(DriverContext.getDeviceId()) : null;
+        if (device != null) {
+            return device.resolution + "@" + device.density + "dpi";
+        }
+        return screen.getWidth() + "x" + screen.getHeight();
+    }
+
+    /**
+     * Persist the calibrations for the next run
+     */
+    public static void save() {
+        store.save(() -> {
+            JSONObject pickers = new JSONObject();
+            calibrations.forEach((key, calibration) -> pickers.put(key, new JSONObject()
+                    .put("itemHeight", calibration.itemHeight)
+                    .put("direction", calibration.direction)
+                    .put("x", calibration.x)
+                    .put("windowTop", calibration.windowTop)
+                    .put("windowBottom", calibration.windowBottom)));
+            return pickers;
+        });
+    }
+
+    private static void load() {
+        store.load(pickers -> {
+            for (String key : pickers.keySet()) {
+                JSONObject json = pickers.getJSONObject(key);
+                calibrations.put(key, new WheelCalibration(json.getDouble("itemHeight"), json.getInt("direction"),
+                        json.getInt("x"), json.getInt("windowTop"), json.getInt("windowBottom")));
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.testng.annotations.Test;
+import pages.Navigator;
+import tests.BaseTest;
+import utils.AllureUtils;
+import utils.GestureComposer;
+import utils.LogUtils;
+import utils.TimeAccounting;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Gesture Benchmark
+ * Times scrolling the profile menu to its bottom as one mobile: dragGesture call per swipe (the former
+ * approach) against the same drags composed into one W3C action sequence the way ScrollService performs
+ * them, on the same device and screen. With a handful of runs only the median and the maximum are
+ * meaningful, so no higher percentiles are reported. Run with gesture-benchmark.xml.
+ *
+ * @author Ciye Test Team
+ */
+@Epic("Ciye Test Framework")
+@Feature("Gesture Benchmark")
+public class GestureBenchmark extends BaseTest {
+
+    private static final int ITERATIONS = 10;
+    private static final int DRAGS = 3;
+
+    // Same drag and settle time as ScrollService
+    private static final Duration DRAG_DURATION = Duration.ofMillis(400);
+    private static final Duration SETTLE = Duration.ofMillis(150);
+
+    @Test(description = "Benchmark per-call drag gestures against one composed W3C action sequence")
+    public void benchmarkScrollToBottom() {
+        Navigator.openHome().clickValidUserProfile();
+        AndroidDriver driver = driver();
+        Dimension screen = driver.manage().window().getSize();
+        Point top = new Point(screen.getWidth() / 2, (int) (screen.getHeight() * 0.25));
+        Point bottom = new Point(screen.getWidth() / 2, (int) (screen.getHeight() * 0.75));
+
+        long[] perCall = new long[ITERATIONS];
+        long[] composed = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            scrollToTop(driver, top, bottom);
+            long start = System.nanoTime();
+            for (int drag = 0; drag < DRAGS; drag++) {
+                driver.executeScript("mobile: dragGesture", Map.of(
+                        "startX", bottom.getX(),
+                        "startY", bottom.getY(),
+                        "endX", top.getX(),
+                        "endY", top.getY()
+                ));
+            }
+            TimeAccounting.sleep(SETTLE.toMillis());
+            perCall[i] = System.nanoTime() - start;
+
+            scrollToTop(driver, top, bottom);
+            start = System.nanoTime();
+            GestureComposer.compose()
+                    .repeat(DRAGS, gesture -> gesture.drag(bottom, top, DRAG_DURATION))
+                    .pause(SETTLE)
+                    .perform(driver);
+            composed[i] = System.nanoTime() - start;
+        }
+
+        String report = String.format("Scroll profile menu to bottom, %d runs%n%-28s %9s %9s%n%s%n%s%n",
+                ITERATIONS, "Approach", "p50 ms", "max ms",
+                row("per-call dragGesture x" + DRAGS, perCall), row("composed performActions", composed));
+        LogUtils.info("Gesture benchmark:\n" + report);
+        AllureUtils.addTextAttachment("Gesture Benchmark", report);
+    }
+
+    /**
+     * Bring the menu back to its top between runs, not timed
+     */
+    private static void scrollToTop(AndroidDriver driver, Point top, Point bottom) {
+        GestureComposer.compose()
+                .repeat(DRAGS, gesture -> gesture.swipe(top, bottom, Duration.ofMillis(150)))
+                .perform(driver);
+    }
+
+    private static String row(String approach, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%-28s %9.1f %9.1f", approach,
+                Percentiles.percentileMs(sorted, 50), Percentiles.percentileMs(sorted, 100));
+    }
+}
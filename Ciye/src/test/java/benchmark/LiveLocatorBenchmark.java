@@ -0,0 +1,108 @@
+package benchmark;
+
+import config.AppConfig;
+import driver.DriverContext;
+import io.appium.java_client.android.AndroidDriver;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import pages.Navigator;
+import tests.BaseTest;
+import utils.AllureUtils;
+import utils.HierarchySnapshot;
+import utils.ImplicitWait;
+import utils.LogUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Live Locator Benchmark
+ * Opens each screen on the device, records its page source for recorded runs and times the page
+ * locators found on it. Run with locator-benchmark.xml.
+ *
+ * @author Ciye Test Team
+ */
+@Epic("Ciye Test Framework")
+@Feature("Locator Benchmark")
+public class LiveLocatorBenchmark extends BaseTest {
+
+    private LocatorBenchmark benchmark;
+
+    @Test(description = "Benchmark locators on the welcome screen")
+    public void benchmarkWelcomeScreen() {
+        welcomePage().waitUntilReady();
+        benchmarkScreen("welcome");
+    }
+
+    @Test(description = "Benchmark locators on the login screen")
+    public void benchmarkLoginScreen() {
+        welcomePage().navigateToLogin();
+        benchmarkScreen("login");
+    }
+
+    @Test(description = "Benchmark locators on the home screen")
+    public void benchmarkHomeScreen() {
+        Navigator.openHome();
+        benchmarkScreen("home");
+    }
+
+    @Test(description = "Benchmark locators on the Personal Information screen")
+    public void benchmarkPersonalInformationScreen() {
+        Navigator.openPersonalInformation();
+        benchmarkScreen("personal-information");
+    }
+
+    @Test(description = "Benchmark locators on the name edit screen")
+    public void benchmarkNameEditScreen() {
+        Navigator.openNameEdit();
+        benchmarkScreen("name-edit");
+    }
+
+    @Test(description = "Benchmark locators on the gender picker")
+    public void benchmarkGenderPickerScreen() {
+        Navigator.openGenderPicker();
+        benchmarkScreen("gender-picker");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (benchmark != null) {
+            String table = benchmark.writeReport();
+            LogUtils.info("Locator benchmark:\n" + table);
+            AllureUtils.addTextAttachment("Locator Benchmark", table);
+        }
+    }
+
+    private void benchmarkScreen(String screen) {
+        AndroidDriver driver = DriverContext.getDriver();
+        if (benchmark == null) {
+            // Every test leases its own session, so each lookup uses the current one; the implicit wait is off,
+            // so the timings are the lookups themselves
+            benchmark = new LocatorBenchmark("live", locator -> DriverContext.getDriver().findElements(locator).size());
+        }
+        HierarchySnapshot snapshot = HierarchySnapshot.capture();
+        record(screen, snapshot);
+
+        ImplicitWait.suspend(driver);
+        try {
+            benchmark.benchmarkScreen(screen, snapshot);
+        } finally {
+            ImplicitWait.resume(driver);
+        }
+    }
+
+    private void record(String screen, HierarchySnapshot snapshot) {
+        Path file = Paths.get(AppConfig.getBenchmarkHierarchiesDir(), screen + ".xml");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, snapshot.getPageSource());
+            LogUtils.info("Recorded page source of screen " + screen + " to " + file);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to record page source " + file + ": " + e.getMessage());
+        }
+    }
+}
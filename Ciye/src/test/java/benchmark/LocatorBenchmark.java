@@ -0,0 +1,365 @@
+package benchmark;
+
+import config.AppConfig;
+import driver.DriverContext;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+import pages.BasePage;
+import utils.HierarchySnapshot;
+import utils.LocatorOptimizer;
+import utils.LogUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locator Benchmark
+ * Times every By declared in the page objects and reports p50/p95/p99 lookup latency per locator. On a
+ * live device the alternative strategies that find the same element (see
+ * {@link LocatorOptimizer#deriveAlternatives}) are timed as well. Recorded page sources are evaluated
+ * locally, so their timings are offline artifacts that only catch locators that stopped matching or got
+ * slower to evaluate; each report is compared with a baseline report of the same mode.
+ *
+ * @author Ciye Test Team
+ */
+public class LocatorBenchmark {
+
+    /**
+     * One lookup of a locator; returns the number of elements found
+     */
+    @FunctionalInterface
+    public interface Lookup {
+        int find(By locator);
+    }
+
+    /**
+     * A By field of a page object
+     */
+    public static final class PageLocator {
+        private final String name;
+        private final By locator;
+
+        PageLocator(String name, By locator) {
+            this.name = name;
+            this.locator = locator;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+    }
+
+    /**
+     * Latency percentiles of one locator
+     */
+    public static final class Timing {
+        private final String strategy;
+        private final String locator;
+        private final int found;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+
+        Timing(String strategy, String locator, int found, long[] nanos) {
+            this.strategy = strategy;
+            this.locator = locator;
+            this.found = found;
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            this.p50 = Percentiles.percentileMs(sorted, 50);
+            this.p95 = Percentiles.percentileMs(sorted, 95);
+            this.p99 = Percentiles.percentileMs(sorted, 99);
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP95() {
+            return p95;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put("strategy", strategy)
+                    .put("locator", locator)
+                    .put("found", found)
+                    .put("p50Ms", round(p50))
+                    .put("p95Ms", round(p95))
+                    .put("p99Ms", round(p99));
+        }
+    }
+
+    private final String mode;
+    private final Lookup lookup;
+    private final List<PageLocator> pageLocators;
+    private final Map<String, JSONObject> results = new LinkedHashMap<>();
+    private final List<String> skipped = new ArrayList<>();
+
+    /**
+     * @param mode   "live" or "recorded", part of the report and baseline keys
+     * @param lookup how one lookup is done, e.g. driver.findElements with no implicit wait
+     */
+    public LocatorBenchmark(String mode, Lookup lookup) {
+        this.mode = mode;
+        this.lookup = lookup;
+        this.pageLocators = collectPageLocators();
+    }
+
+    /**
+     * Benchmark every page locator that is on the screen the snapshot shows
+     */
+    public void benchmarkScreen(String screen, HierarchySnapshot snapshot) {
+        LogUtils.info("Benchmarking locators on screen " + screen);
+        for (PageLocator pageLocator : pageLocators) {
+            String key = mode + "|" + screen + "|" + pageLocator.getName();
+            By declared = pageLocator.getLocator();
+
+            List<HierarchySnapshot.Node> matches;
+            if (HierarchySnapshot.isSupported(declared)) {
+                matches = snapshot.findAll(declared);
+                if (matches.isEmpty()) {
+                    continue;
+                }
+            } else if ("live".equals(mode) && lookup.find(declared) > 0) {
+                // Not evaluable on the page source, but found on the device; no alternatives can be derived
+                matches = new ArrayList<>();
+            } else {
+                if ("recorded".equals(mode)) {
+                    skipped.add(screen + " " + pageLocator.getName() + " (not evaluable on a page source)");
+                }
+                continue;
+            }
+
+            Timing declaredTiming = time(strategyOf(declared), declared);
+            JSONArray alternatives = new JSONArray();
+            Timing fastest = null;
+            // Recorded lookups are local XPath and index lookups, which say nothing about which strategy is
+            // faster on UiAutomator2, so alternatives are only compared on a device
+            if (!matches.isEmpty() && "live".equals(mode)) {
+                for (By alternative : LocatorOptimizer.deriveAlternatives(snapshot, matches)) {
+                    if (alternative.toString().equals(declared.toString())) {
+                        continue;
+                    }
+                    Timing timing = time(strategyOf(alternative), alternative);
+                    alternatives.put(timing.toJson());
+                    if (fastest == null || timing.getP50() < fastest.getP50()) {
+                        fastest = timing;
+                    }
+                }
+            }
+
+            JSONObject result = new JSONObject()
+                    .put("screen", screen)
+                    .put("name", pageLocator.getName())
+                    .put("declared", declaredTiming.toJson())
+                    .put("alternatives", alternatives);
+            if (fastest != null && fastest.getP50() < declaredTiming.getP50()) {
+                result.put("fastest", fastest.toJson())
+                        .put("speedup", round(declaredTiming.getP50() / Math.max(fastest.getP50(), 0.001)));
+            }
+            results.put(key, result);
+        }
+    }
+
+    /**
+     * Write the report, compare it with the baseline and return it as a readable table
+     */
+    public String writeReport() {
+        JSONObject report = new JSONObject()
+                .put("mode", mode)
+                .put("offline", !"live".equals(mode))
+                .put("iterations", AppConfig.getBenchmarkIterations())
+                .put("results", new JSONArray(results.values()))
+                .put("skipped", new JSONArray(skipped));
+        List<String> regressions = compareWithBaseline(report);
+        report.put("regressions", new JSONArray(regressions));
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path file = Paths.get(AppConfig.getBenchmarkReportDir(), "locators_" + mode + "_" + timestamp + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report.toString(2));
+            LogUtils.info("Locator benchmark report written to " + file);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write locator benchmark report " + file + ": " + e.getMessage());
+        }
+        return toTable(regressions);
+    }
+
+    /**
+     * Get the locators that got slower or stopped matching since the baseline
+     */
+    public List<String> compareWithBaseline(JSONObject report) {
+        List<String> regressions = new ArrayList<>();
+        Path baselineFile = Paths.get(AppConfig.getBenchmarkBaselineFile());
+        if (!Files.exists(baselineFile)) {
+            LogUtils.info("No locator benchmark baseline at " + baselineFile + ", copy a report there to create one");
+            return regressions;
+        }
+
+        Map<String, JSONObject> current = new LinkedHashMap<>();
+        for (Object result : report.getJSONArray("results")) {
+            JSONObject json = (JSONObject) result;
+            current.put(json.getString("screen") + "|" + json.getString("name"), json);
+        }
+        try {
+            JSONObject baseline = new JSONObject(Files.readString(baselineFile));
+            if (!mode.equals(baseline.optString("mode"))) {
+                LogUtils.warn("Locator benchmark baseline was recorded in " + baseline.optString("mode") + " mode, not compared");
+                return regressions;
+            }
+            double factor = AppConfig.getBenchmarkRegressionFactor();
+            for (Object result : baseline.getJSONArray("results")) {
+                JSONObject before = (JSONObject) result;
+                String key = before.getString("screen") + "|" + before.getString("name");
+                JSONObject after = current.get(key);
+                if (after == null) {
+                    regressions.add(key + " no longer matches");
+                    continue;
+                }
+                double beforeP95 = before.getJSONObject("declared").getDouble("p95Ms");
+                double afterP95 = after.getJSONObject("declared").getDouble("p95Ms");
+                if (afterP95 > beforeP95 * factor) {
+                    regressions.add(key + " p95 " + beforeP95 + " ms -> " + afterP95 + " ms");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LogUtils.warn("Ignoring unreadable locator benchmark baseline " + baselineFile + ": " + e.getMessage());
+        }
+        regressions.forEach(regression -> LogUtils.warn("Locator regression: " + regression));
+        return regressions;
+    }
+
+    public List<PageLocator> getPageLocators() {
+        return pageLocators;
+    }
+
+    private Timing time(String strategy, By locator) {
+        int found = 0;
+        for (int i = 0; i < AppConfig.getBenchmarkWarmup(); i++) {
+            found = lookup.find(locator);
+        }
+        long[] nanos = new long[AppConfig.getBenchmarkIterations()];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            found = lookup.find(locator);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return new Timing(strategy, locator.toString(), found, nanos);
+    }
+
+    /**
+     * All By fields of the page objects, named Page.field
+     */
+    private static List<PageLocator> collectPageLocators() {
+        // Pages only read the driver in their constructor, so recorded runs build them without one
+        boolean bound = DriverContext.isBound();
+        if (!bound) {
+            DriverContext.bind(null, null);
+        }
+        List<PageLocator> locators = new ArrayList<>();
+        try {
+            for (Class<? extends BasePage> pageClass : findPageClasses()) {
+                BasePage page = pageClass.getDeclaredConstructor().newInstance();
+                for (Field field : pageClass.getDeclaredFields()) {
+                    if (!By.class.isAssignableFrom(field.getType()) || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    By locator = (By) field.get(page);
+                    if (locator instanceof LocatorOptimizer.OptimizedBy) {
+                        locator = ((LocatorOptimizer.OptimizedBy) locator).getOriginal();
+                    }
+                    locators.add(new PageLocator(pageClass.getSimpleName() + "." + field.getName(), locator));
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to collect page locators: " + e.getMessage(), e);
+        } finally {
+            if (!bound) {
+                DriverContext.unbind();
+            }
+        }
+        LogUtils.info("Collected " + locators.size() + " page locators");
+        return locators;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Class<? extends BasePage>> findPageClasses() throws ClassNotFoundException {
+        URL packageUrl = BasePage.class.getResource("");
+        if (packageUrl == null || !"file".equals(packageUrl.getProtocol())) {
+            throw new RuntimeException("Page classes must be on the file system to be discovered: " + packageUrl);
+        }
+        File[] files;
+        try {
+            files = new File(packageUrl.toURI()).listFiles((dir, name) -> name.endsWith(".class") && !name.contains("$"));
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid page package location: " + packageUrl, e);
+        }
+        List<Class<? extends BasePage>> pageClasses = new ArrayList<>();
+        Arrays.sort(files);
+        for (File file : files) {
+            String className = BasePage.class.getPackageName() + "." + file.getName().replace(".class", "");
+            Class<?> pageClass = Class.forName(className);
+            if (BasePage.class.isAssignableFrom(pageClass) && pageClass != BasePage.class &&
+                    !Modifier.isAbstract(pageClass.getModifiers())) {
+                pageClasses.add((Class<? extends BasePage>) pageClass);
+            }
+        }
+        return pageClasses;
+    }
+
+    private String toTable(List<String> regressions) {
+        StringBuilder table = new StringBuilder();
+        if (!"live".equals(mode)) {
+            table.append("Offline timings of local page-source evaluation, not UiAutomator2 latency; " +
+                    "only useful to compare with other ").append(mode).append(" runs\n");
+        }
+        table.append(String.format("%-50s %-22s %9s %9s %9s  %s%n",
+                "Locator (" + mode + ")", "Strategy", "p50 ms", "p95 ms", "p99 ms", "Fastest alternative"));
+        for (JSONObject result : results.values()) {
+            JSONObject declared = result.getJSONObject("declared");
+            String fastest = result.has("fastest")
+                    ? result.getJSONObject("fastest").getString("strategy") + " " + result.getJSONObject("fastest").getDouble("p50Ms") +
+                    " ms (" + result.getDouble("speedup") + "x faster)"
+                    : "-";
+            table.append(String.format("%-50s %-22s %9.2f %9.2f %9.2f  %s%n",
+                    result.getString("screen") + " " + result.getString("name"), declared.getString("strategy"),
+                    declared.getDouble("p50Ms"), declared.getDouble("p95Ms"), declared.getDouble("p99Ms"), fastest));
+        }
+        skipped.forEach(entry -> table.append("skipped: ").append(entry).append('\n'));
+        regressions.forEach(regression -> table.append("REGRESSION: ").append(regression).append('\n'));
+        return table.toString();
+    }
+
+    private static String strategyOf(By locator) {
+        if (locator instanceof By.Remotable) {
+            return ((By.Remotable) locator).getRemoteParameters().using();
+        }
+        return locator.getClass().getSimpleName();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,20 @@
+package benchmark;
+
+/**
+ * Percentiles
+ * Nearest-rank percentiles of benchmark timings
+ *
+ * @author Ciye Test Team
+ */
+final class Percentiles {
+
+    private Percentiles() {}
+
+    /**
+     * Get the percentile of ascending nanosecond timings, in milliseconds
+     */
+    static double percentileMs(long[] sortedNanos, double percentile) {
+        int rank = (int) Math.ceil(sortedNanos.length * percentile / 100.0);
+        return sortedNanos[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import config.AppConfig;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import utils.AllureUtils;
+import utils.HierarchySnapshot;
+import utils.LogUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recorded Locator Benchmark
+ * Evaluates the page locators against the page sources LiveLocatorBenchmark recorded, locally in place
+ * of the device, so no emulator is needed. The timings are offline artifacts for comparing recorded runs
+ * (and catching locators that stopped matching), not device latency. Run with locator-benchmark-recorded.xml.
+ *
+ * @author Ciye Test Team
+ */
+@Epic("Ciye Test Framework")
+@Feature("Locator Benchmark")
+public class RecordedLocatorBenchmark {
+
+    @Test(description = "Benchmark locators against the recorded page sources")
+    public void benchmarkRecordedScreens() throws IOException {
+        Path dir = Paths.get(AppConfig.getBenchmarkHierarchiesDir());
+        List<Path> recordings;
+        try (Stream<Path> files = Files.exists(dir) ? Files.list(dir) : Stream.empty()) {
+            recordings = files.filter(file -> file.toString().endsWith(".xml")).sorted().collect(Collectors.toList());
+        }
+        if (recordings.isEmpty()) {
+            throw new SkipException("No recorded page sources in " + dir + ", run locator-benchmark.xml on a device first");
+        }
+
+        // The stand-in for the device: each lookup is evaluated on the recorded page source of the screen
+        HierarchySnapshot[] screen = new HierarchySnapshot[1];
+        LocatorBenchmark benchmark = new LocatorBenchmark("recorded", locator -> screen[0].findAll(locator).size());
+        for (Path recording : recordings) {
+            screen[0] = HierarchySnapshot.of(Files.readString(recording));
+            benchmark.benchmarkScreen(recording.getFileName().toString().replace(".xml", ""), screen[0]);
+        }
+
+        String table = benchmark.writeReport();
+        LogUtils.info("Locator benchmark:\n" + table);
+        AllureUtils.addTextAttachment("Locator Benchmark", table);
+    }
+}
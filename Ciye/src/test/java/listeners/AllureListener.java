@@ -8,6 +8,8 @@ import org.testng.ITestListener;
 import org.testng.ITestResult;
 import utils.AllureUtils;
 import utils.LogUtils;
+import utils.ScreenReadiness;
+import utils.TimeAccounting;
 import utils.ScreenshotUtils;
 
 /**
@@ -36,8 +38,11 @@ public class AllureListener implements ITestListener, TestLifecycleListener {
         String testName = result.getMethod().getMethodName();
         LogUtils.testEnd(testName + " - PASSED");
 
-        // Take success screenshot
+        // Take success screenshot; it is written while the reports below are built
         attachScreenshot("Success Screenshot");
+
+        reportScreenReadiness(testName);
+        reportTimeAccounting(result);
     }
 
     @Override
@@ -52,6 +57,8 @@ public class AllureListener implements ITestListener, TestLifecycleListener {
 
         // Attach error details
         attachErrorDetails(errorMessage, result.getThrowable());
+        reportScreenReadiness(testName);
+        reportTimeAccounting(result);
 
         LogUtils.testEnd(testName + " - FAILED");
     }
@@ -64,14 +71,34 @@ public class AllureListener implements ITestListener, TestLifecycleListener {
 
         LogUtils.warn("Test skipped: " + testName + " - " + skipReason);
         attachSkipReason(skipReason);
+        reportTimeAccounting(result);
+    }
+
+    /**
+     * Report the time the test's readiness waits saved versus fixed sleeps
+     */
+    private void reportScreenReadiness(String testName) {
+        ScreenReadiness.Stats stats = ScreenReadiness.getTestStats();
+        AllureUtils.addParameter("Readiness wait saved (ms)", String.valueOf(stats.getSavedMs()));
+        AllureUtils.addParameter("Readiness wait lost (ms)", String.valueOf(stats.getLostMs()));
+        LogUtils.info("Screen readiness for " + testName + ": " + stats);
+    }
+
+    /**
+     * Attach the test's breakdown of sleeps, polling, driver commands and gestures
+     */
+    private void reportTimeAccounting(ITestResult result) {
+        String testName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        String breakdown = TimeAccounting.getTestTimes().toString();
+        AllureUtils.addJsonAttachment("Time Breakdown", TimeAccounting.finishTest(testName).toString(2));
+        LogUtils.info("Time breakdown for " + testName + ": " + breakdown);
     }
 
     /**
      * Attach screenshot to Allure report
      */
-    @Attachment(value = "{attachmentName}", type = "image/png")
-    public byte[] attachScreenshot(String attachmentName) {
-        return ScreenshotUtils.takeScreenshot();
+    public void attachScreenshot(String attachmentName) {
+        ScreenshotUtils.captureScreenshot(attachmentName);
     }
 
     /**
@@ -0,0 +1,36 @@
+package listeners;
+
+import config.DeviceConfig;
+import driver.DeviceLeaseScheduler;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import utils.LogUtils;
+
+import java.util.List;
+
+/**
+ * Device Fleet Listener
+ * Sizes the TestNG worker pool of parallel suites to the number of leasable devices,
+ * so adding an emulator to VirtualDeviceConfig adds a worker thread without editing testng.xml
+ *
+ * @author Ciye Test Team
+ */
+public class DeviceFleetListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!DeviceConfig.isDeviceLeasingEnabled()) {
+            return;
+        }
+
+        int fleetSize = DeviceLeaseScheduler.getInstance().getFleetSize();
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+                continue;
+            }
+            suite.setThreadCount(Math.max(1, fleetSize));
+            LogUtils.info("Suite '" + suite.getName() + "' runs " + suite.getParallel() +
+                    " in parallel on " + fleetSize + " device(s)");
+        }
+    }
+}
@@ -30,7 +30,7 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting user logout test");
 
         // Login with valid credentials
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         loginPage.loginWithValidCredentials();
 
         // Verify user is logged in (on home page)
@@ -56,7 +56,7 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting profile menu access test");
 
         // Login with valid credentials
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         loginPage.loginWithValidCredentials();
 
         // Access profile menu
@@ -78,7 +78,7 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting delete account option visibility test");
 
         // Login with valid credentials
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         loginPage.loginWithValidCredentials();
 
         // Access profile menu
@@ -100,7 +100,7 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting profile initials display test");
 
         // Login with valid credentials
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         loginPage.loginWithValidCredentials();
 
         // Verify user is on home page (profile button should be visible)
@@ -129,7 +129,7 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting account deletion test");
 
         // Login with delete test account
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         loginPage.login(TestData.DeleteUser.EMAIL, TestData.DeleteUser.PASSWORD);
 
         // Access profile menu
@@ -155,10 +155,10 @@ public class AccountMenuTests extends BaseTest {
         AllureUtils.step("Starting complete profile navigation flow test");
 
         // Step 1: Verify starting on welcome page
-        AssertUtils.assertTrue(welcomePage.isWelcomePageDisplayed(), "Should start on welcome page");
+        AssertUtils.assertTrue(welcomePage().isWelcomePageDisplayed(), "Should start on welcome page");
 
         // Step 2: Navigate to login
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Should navigate to login page");
 
         // Step 3: Login successfully
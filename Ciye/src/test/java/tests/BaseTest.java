@@ -1,15 +1,39 @@
 package tests;
 
 import config.AppConfig;
+import config.DeviceConfig;
+import config.VirtualDeviceConfig;
+import driver.AppReset;
+import driver.AppResetEngine;
+import driver.AppResetPolicy;
+import driver.AppiumServerPool;
+import driver.Checkpoint;
+import driver.CheckpointCache;
+import driver.DeviceLeaseScheduler;
+import driver.DriverContext;
 import driver.DriverManager;
+import driver.LoggedInAs;
+import driver.Precondition;
 import io.appium.java_client.android.AndroidDriver;
 import io.qameta.allure.Epic;
 import listeners.AllureListener;
 import listeners.RetryAnalyzer;
 import org.testng.annotations.*;
+import pages.Navigator;
 import pages.WelcomePage;
+import utils.AdaptiveWait;
 import utils.AllureUtils;
+import utils.ElementCache;
+import utils.LocatorOptimizer;
 import utils.LogUtils;
+import utils.ScreenReadiness;
+import utils.ScreenshotPipeline;
+import utils.ScrollService;
+import utils.TimeAccounting;
+import utils.WheelCalibration;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 
 /**
  * Base Test Class - Single Device Testing
@@ -21,25 +45,64 @@ import utils.LogUtils;
 @Listeners({AllureListener.class})
 public class BaseTest {
 
-    protected AndroidDriver driver;
-    protected WelcomePage welcomePage;
+    // Test methods of one instance run concurrently in parallel suites, so per-test state is thread-local
+    private static final ThreadLocal<WelcomePage> welcomePageThreadLocal = new ThreadLocal<>();
+
+    // Reset used when the app state is replaced anyway: by an auth snapshot restore (@LoggedInAs
+    // without an explicit @AppReset) or by a loaded emulator checkpoint
+    private static final AppReset KEEP_APP_STATE = AppResetEngine.declare(AppResetPolicy.NONE);
 
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
+    public void setUp(Method method) {
         LogUtils.info("=== Starting Test Setup ===");
+        ScreenReadiness.resetTestStats();
+        TimeAccounting.startTest();
 
         try {
-            // Initialize regular driver (not ThreadLocal)
-            driver = DriverManager.getInstance().getDriver();
+            // Lease a device for this thread (blocks while the whole fleet is busy)
+            String deviceName = DeviceConfig.getDeviceName();
+            String platformVersion = DeviceConfig.getPlatformVersion();
+            String udid = DeviceConfig.getDeviceUDID();
+            if (DeviceConfig.isDeviceLeasingEnabled()) {
+                DeviceLeaseScheduler.DeviceLease lease = DeviceLeaseScheduler.getInstance().acquire();
+                deviceName = lease.getDeviceInfo().deviceName;
+                platformVersion = lease.getDeviceInfo().platformVersion;
+                udid = lease.getDeviceInfo().udid;
+            }
+
+            Navigator.reset();
+            Checkpoint checkpoint = getAnnotation(method, Checkpoint.class);
+            if (checkpoint != null && DeviceConfig.isCheckpointEnabled()) {
+                // Start from the precondition's emulator snapshot, building and saving it on first use
+                startFromCheckpoint(checkpoint, udid, getAnnotation(method, AppReset.class));
+            } else if (checkpoint != null) {
+                // Without snapshots the precondition is built for every test; it logs in itself
+                AppReset reset = getAnnotation(method, AppReset.class);
+                DriverManager.getInstance().getDriver(reset != null ? reset : KEEP_APP_STATE);
+                newPrecondition(checkpoint).build();
+            } else {
+                // Initialize driver for the leased device, resetting the app as the test declares
+                LoggedInAs loggedInAs = getAnnotation(method, LoggedInAs.class);
+                AppReset reset = getAnnotation(method, AppReset.class);
+                if (reset == null && loggedInAs != null) {
+                    reset = KEEP_APP_STATE;
+                }
+                DriverManager.getInstance().getDriver(reset);
+
+                // Start logged in when the test declares it, restoring the captured login when possible
+                if (loggedInAs != null) {
+                    Navigator.logInAs(loggedInAs.value());
+                }
+            }
 
             // Initialize welcome page
-            welcomePage = new WelcomePage();
+            welcomePageThreadLocal.set(new WelcomePage());
             LogUtils.info("Welcome page initialized");
 
             // Add environment info to Allure
             AllureUtils.addEnvironmentInfo();
-            AllureUtils.addParameter("Device", "emulator-5554");
-            AllureUtils.addParameter("Platform", "Android 16");
+            AllureUtils.addParameter("Device", deviceName);
+            AllureUtils.addParameter("Platform", "Android " + platformVersion);
 
             LogUtils.info("=== Test Setup Complete ===");
 
@@ -49,21 +112,49 @@ public class BaseTest {
         }
     }
 
+    /**
+     * Driver of the device leased by the current test
+     */
+    protected AndroidDriver driver() {
+        return DriverContext.getDriver();
+    }
+
+    /**
+     * Welcome page bound to the current test's driver
+     */
+    protected WelcomePage welcomePage() {
+        return welcomePageThreadLocal.get();
+    }
+
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
         LogUtils.info("=== Starting Test Cleanup ===");
 
         try {
-            DriverManager.getInstance().quitDriver();
+            // Hand the session back to the pool; it is only quit when unhealthy
+            DriverManager.getInstance().releaseDriver();
+            // Wait for the test's screenshot writes, which do not need the session
+            ScreenshotPipeline.flush();
             LogUtils.info("=== Test Cleanup Complete ===");
         } catch (Exception e) {
             LogUtils.error("Test cleanup failed: " + e.getMessage());
+        } finally {
+            // Always free the device, even when the test or the cleanup crashed
+            welcomePageThreadLocal.remove();
+            DeviceLeaseScheduler.getInstance().release();
         }
     }
 
     @BeforeSuite(alwaysRun = true)
     public void suiteSetup() {
         LogUtils.info("=== Starting Test Suite ===");
+
+        // Start Appium servers in the background; each test only waits for its own device's server
+        AppiumServerPool.getInstance().warmUp();
+
+        // Start the first session of every device in the background as well
+        DriverManager.getInstance().precreateSessions();
+
         LogUtils.info("Test Environment: " + AppConfig.getTestEnvironment());
         LogUtils.info("App Package: " + AppConfig.getAppPackage());
         LogUtils.info("App Activity: " + AppConfig.getAppActivity());
@@ -75,9 +166,55 @@ public class BaseTest {
 
     @AfterSuite(alwaysRun = true)
     public void suiteTeardown() {
+        DriverManager.getInstance().shutdown();
+        AppiumServerPool.getInstance().shutdown();
+        LogUtils.info("Screen readiness: " + ScreenReadiness.getRunSummary());
+        LogUtils.info(LocatorOptimizer.getSummary());
+        LogUtils.info(ElementCache.getRunSummary());
+        AdaptiveWait.save();
+        ScrollService.save();
+        WheelCalibration.save();
+        ScreenshotPipeline.shutdown();
+        LogUtils.info(ScreenshotPipeline.getRunSummary());
+        TimeAccounting.writeRunReport();
         LogUtils.info("=== Test Suite Complete ===");
     }
 
+    /**
+     * Load the checkpoint of the test's precondition, or build the precondition and save it as one
+     */
+    private void startFromCheckpoint(Checkpoint checkpoint, String udid, AppReset reset) throws ReflectiveOperationException {
+        Precondition precondition = newPrecondition(checkpoint);
+        CheckpointCache cache = CheckpointCache.getInstance();
+
+        if (cache.contains(udid, precondition)) {
+            // No session survives a snapshot load, so the device's sessions are quit first
+            DriverManager.getInstance().discardIdleSessions();
+            if (cache.load(udid, precondition)) {
+                DriverManager.getInstance().getDriver(KEEP_APP_STATE);
+                precondition.restored();
+                return;
+            }
+        }
+
+        DriverManager.getInstance().getDriver(reset);
+        LogUtils.info("Building precondition '" + precondition.name() + "' for checkpoint");
+        precondition.build();
+        cache.save(udid, precondition);
+    }
+
+    private Precondition newPrecondition(Checkpoint checkpoint) throws ReflectiveOperationException {
+        return checkpoint.value().getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Annotation declared by the test method, falling back to its class
+     */
+    private <A extends Annotation> A getAnnotation(Method method, Class<A> type) {
+        A annotation = method.getAnnotation(type);
+        return annotation != null ? annotation : method.getDeclaringClass().getAnnotation(type);
+    }
+
     protected RetryAnalyzer getRetryAnalyzer() {
         return new RetryAnalyzer();
     }
@@ -85,29 +222,38 @@ public class BaseTest {
     private void verifyDeviceAvailability() {
         LogUtils.info("=== Verifying Device Availability ===");
         try {
-            ProcessBuilder pb = new ProcessBuilder("adb", "devices");
+            ProcessBuilder pb = new ProcessBuilder(DeviceConfig.getAdbPath(), "devices");
             Process process = pb.start();
 
             java.io.BufferedReader reader = new java.io.BufferedReader(
                     new java.io.InputStreamReader(process.getInputStream())
             );
 
+            java.util.Set<String> expectedUdids = new java.util.TreeSet<>();
+            if (DeviceConfig.isDeviceLeasingEnabled()) {
+                VirtualDeviceConfig.getAllDevices().values().forEach(device -> expectedUdids.add(device.udid));
+            } else {
+                expectedUdids.add(DeviceConfig.getDeviceUDID());
+            }
+
             String line;
-            int deviceCount = 0;
+            java.util.Set<String> availableUdids = new java.util.TreeSet<>();
             while ((line = reader.readLine()) != null) {
-                if (line.contains("emulator-5554") && line.contains("device")) {
-                    deviceCount++;
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length == 2 && columns[1].equals("device") && expectedUdids.contains(columns[0])) {
+                    availableUdids.add(columns[0]);
                     LogUtils.info("Available device: " + line.trim());
                 }
             }
 
             process.waitFor();
 
-            if (deviceCount == 0) {
-                LogUtils.warn("emulator-5554 not found! Make sure Pixel7Pro emulator is running");
-            } else {
-                LogUtils.info("emulator-5554 is available and ready");
+            for (String udid : expectedUdids) {
+                if (!availableUdids.contains(udid)) {
+                    LogUtils.warn(udid + " not found! Make sure its emulator is running");
+                }
             }
+            LogUtils.info(availableUdids.size() + " of " + expectedUdids.size() + " device(s) available and ready");
 
         } catch (Exception e) {
             LogUtils.warn("Failed to verify device availability: " + e.getMessage());
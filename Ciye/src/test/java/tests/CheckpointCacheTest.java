@@ -0,0 +1,172 @@
+package tests;
+
+import driver.CheckpointCache;
+import driver.Precondition;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoint Cache Tests
+ * Exercises checkpoint keys, loading and eviction against a fake adb script, so no emulator is needed
+ *
+ * @author Ciye Test Team
+ */
+@Epic("Ciye Test Framework")
+@Feature("Emulator Snapshot Checkpoints")
+public class CheckpointCacheTest {
+
+    private static final String UDID = "emulator-5554";
+    private static final long ONE_MB = 1024 * 1024;
+
+    private Path workDir;
+    private Path adb;
+    private Path indexFile;
+    private Path avdHome;
+
+    /**
+     * Fake precondition; the build is never run by the cache itself
+     */
+    public static class FakePrecondition implements Precondition {
+        private final String name;
+        private final int version;
+
+        FakePrecondition(String name, int version) {
+            this.name = name;
+            this.version = version;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int version() {
+            return version;
+        }
+
+        @Override
+        public void build() {
+        }
+    }
+
+    @BeforeMethod
+    public void createFakeAdb() throws IOException {
+        workDir = Files.createTempDirectory("checkpoint-cache");
+        avdHome = workDir.resolve("avd");
+        indexFile = workDir.resolve("index.json");
+        Files.writeString(workDir.resolve("apk.sha256"), "1111 /data/app/base.apk");
+
+        // Emulates the emulator console: one AVD, 1 MB per snapshot, "KO" for unknown snapshots
+        adb = workDir.resolve("adb");
+        Files.writeString(adb, String.join("\n",
+                "#!/bin/sh",
+                "shift 2",
+                "SNAPSHOTS=\"" + avdHome + "/TestAvd.avd/snapshots\"",
+                "case \"$*\" in",
+                "  'emu avd name') echo TestAvd; echo OK ;;",
+                "  'emu avd snapshot save '*) mkdir -p \"$SNAPSHOTS/$5\"; head -c " + ONE_MB + " /dev/zero > \"$SNAPSHOTS/$5/ram.bin\"; echo OK ;;",
+                "  'emu avd snapshot load '*) if [ -d \"$SNAPSHOTS/$5\" ]; then echo OK; else echo 'KO: snapshot not found'; fi ;;",
+                "  'emu avd snapshot delete '*) rm -rf \"$SNAPSHOTS/$5\"; echo OK ;;",
+                "  'wait-for-device') ;;",
+                "  'shell pm path '*) echo package:/data/app/base.apk ;;",
+                "  'shell sha256sum '*) cat \"" + workDir.resolve("apk.sha256") + "\" ;;",
+                "  *) echo \"unexpected: $*\" >&2; exit 1 ;;",
+                "esac",
+                ""));
+        adb.toFile().setExecutable(true);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteWorkDir() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "A saved checkpoint is found and loaded by the next test")
+    public void testSavedCheckpointIsLoaded() {
+        CheckpointCache cache = newCache(10 * ONE_MB);
+        Precondition loggedIn = new FakePrecondition("logged-in", 1);
+
+        Assert.assertFalse(cache.contains(UDID, loggedIn), "Nothing should be cached yet");
+        Assert.assertFalse(cache.load(UDID, loggedIn), "Loading a missing checkpoint should fail");
+
+        cache.save(UDID, loggedIn);
+        Assert.assertTrue(cache.contains(UDID, loggedIn), "Saved checkpoint should be cached");
+        Assert.assertTrue(cache.load(UDID, loggedIn), "Saved checkpoint should load");
+        Assert.assertEquals(cache.getEntries().get(0).getSizeBytes(), ONE_MB, "Snapshot size should be measured");
+    }
+
+    @Test(description = "The checkpoint index survives a new cache instance")
+    public void testIndexIsPersisted() {
+        Precondition loggedIn = new FakePrecondition("logged-in", 1);
+        newCache(10 * ONE_MB).save(UDID, loggedIn);
+
+        Assert.assertTrue(newCache(10 * ONE_MB).contains(UDID, loggedIn), "Checkpoint should be read from the index");
+    }
+
+    @Test(description = "A new APK or a new precondition definition never reuses an old checkpoint")
+    public void testKeyCoversApkAndDefinition() throws IOException {
+        CheckpointCache cache = newCache(10 * ONE_MB);
+        Precondition version1 = new FakePrecondition("logged-in", 1);
+        cache.save(UDID, version1);
+
+        Assert.assertFalse(cache.contains(UDID, new FakePrecondition("logged-in", 2)),
+                "Changed precondition version should miss");
+        Assert.assertFalse(cache.contains(UDID, new FakePrecondition("photo-set", 1)),
+                "Other precondition should miss");
+
+        Files.writeString(workDir.resolve("apk.sha256"), "2222 /data/app/base.apk");
+        Assert.assertFalse(cache.contains(UDID, version1), "Changed APK should miss");
+    }
+
+    @Test(description = "Least recently used checkpoints are deleted when the disk limit is exceeded")
+    public void testLeastRecentlyUsedIsEvicted() throws InterruptedException {
+        CheckpointCache cache = newCache(2 * ONE_MB);
+        Precondition first = new FakePrecondition("first", 1);
+        Precondition second = new FakePrecondition("second", 1);
+        Precondition third = new FakePrecondition("third", 1);
+
+        cache.save(UDID, first);
+        Thread.sleep(5);
+        cache.save(UDID, second);
+        Thread.sleep(5);
+        cache.load(UDID, first);
+        Thread.sleep(5);
+        cache.save(UDID, third);
+
+        Assert.assertTrue(cache.contains(UDID, first), "Recently loaded checkpoint should be kept");
+        Assert.assertFalse(cache.contains(UDID, second), "Least recently used checkpoint should be evicted");
+        Assert.assertTrue(cache.contains(UDID, third), "Just saved checkpoint should be kept");
+        Assert.assertFalse(Files.exists(avdHome.resolve("TestAvd.avd/snapshots").resolve(cache.getSnapshotName(UDID, second))),
+                "Evicted snapshot should be deleted from the emulator");
+    }
+
+    @Test(description = "A checkpoint whose snapshot disappeared is forgotten so it gets rebuilt")
+    public void testBrokenCheckpointIsForgotten() throws IOException {
+        CheckpointCache cache = newCache(10 * ONE_MB);
+        Precondition loggedIn = new FakePrecondition("logged-in", 1);
+        cache.save(UDID, loggedIn);
+
+        Path snapshot = avdHome.resolve("TestAvd.avd/snapshots").resolve(cache.getSnapshotName(UDID, loggedIn));
+        Files.delete(snapshot.resolve("ram.bin"));
+        Files.delete(snapshot);
+
+        Assert.assertFalse(cache.load(UDID, loggedIn), "Loading a deleted snapshot should fail");
+        Assert.assertFalse(cache.contains(UDID, loggedIn), "Failed checkpoint should be forgotten");
+    }
+
+    private CheckpointCache newCache(long maxDiskBytes) {
+        return new CheckpointCache(adb.toString(), indexFile, avdHome, maxDiskBytes);
+    }
+}
@@ -1,5 +1,7 @@
 package tests;
 
+import driver.AppReset;
+import driver.AppResetPolicy;
 import io.qameta.allure.*;
 import listeners.RetryAnalyzer;
 import org.testng.annotations.Test;
@@ -18,6 +20,7 @@ import utils.AssertUtils;
  */
 @Epic("Ciye Mobile App Testing")
 @Feature("Login Functionality")
+@AppReset(value = AppResetPolicy.RELAUNCH, mutatesData = false)
 public class LoginTests extends BaseTest {
 
     @Test(priority = TestData.TestPriority.CRITICAL,
@@ -26,11 +29,12 @@ public class LoginTests extends BaseTest {
     @Story("User Authentication")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test validates that user can successfully login with valid email and password")
+    @AppReset(AppResetPolicy.RELAUNCH)
     public void testValidLogin() {
         AllureUtils.step("Starting valid login test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
 
         // Perform login
         loginPage.loginWithValidCredentials();
@@ -50,7 +54,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting invalid email test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with invalid email
@@ -71,7 +75,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting invalid password test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with invalid password
@@ -92,7 +96,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting empty email validation test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with empty email
@@ -113,7 +117,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting empty password validation test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with empty password
@@ -134,7 +138,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting empty fields validation test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with empty fields
@@ -155,7 +159,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting short password validation test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Attempt login with short password
@@ -176,10 +180,10 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting welcome to login navigation test");
 
         // Verify welcome page is displayed
-        AssertUtils.assertTrue(welcomePage.isWelcomePageDisplayed(), "Welcome page should be displayed");
+        AssertUtils.assertTrue(welcomePage().isWelcomePageDisplayed(), "Welcome page should be displayed");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
 
         // Verify login page is displayed
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed after navigation");
@@ -195,7 +199,7 @@ public class LoginTests extends BaseTest {
         AllureUtils.step("Starting login to welcome navigation test");
 
         // Navigate to login page
-        LoginPage loginPage = welcomePage.navigateToLogin();
+        LoginPage loginPage = welcomePage().navigateToLogin();
         AssertUtils.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
 
         // Navigate back to welcome page
@@ -1,13 +1,17 @@
 package tests;
 
+import driver.Checkpoint;
 import io.qameta.allure.*;
 import org.testng.annotations.Test;
-import pages.LoginPage;
-import pages.AccountMenuPage;
+import pages.Navigator;
 import pages.Personal_InformationPage;
+import preconditions.BirthdaySetPrecondition;
+import preconditions.LoggedInPrecondition;
+import preconditions.PhotoSetPrecondition;
 import testdata.TestData;
 import utils.AllureUtils;
 import utils.AssertUtils;
+import utils.LogUtils;
 
 /**
  * Simple Personal Information Tests - Name Editing
@@ -16,6 +20,7 @@ import utils.AssertUtils;
  */
 @Epic("Ciye Mobile App Testing")
 @Feature("User Profile Management")
+@Checkpoint(LoggedInPrecondition.class)
 public class Personal_InformationTest extends BaseTest {
 
     // ==================== TEST 1: ACCESS PERSONAL INFO PAGE ====================
@@ -29,16 +34,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testAccessPersonalInformationPage() {
         AllureUtils.step("Starting test: Access Personal Information Page");
 
-        // Login
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        // Open profile menu
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-
         // Navigate to Personal Information
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Verify page loaded
         AssertUtils.assertTrue(personalInfoPage.isPersonalInformationPageDisplayed(),
@@ -55,16 +52,12 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Validates that name, birthday, and gender are displayed correctly")
     @TmsLink("TC-PI-002")
+    @Checkpoint(BirthdaySetPrecondition.class)
     public void testPersonalInformationDataDisplay() {
         AllureUtils.step("Starting test: Verify Data Display");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Get user data
         String fullName = personalInfoPage.getUserFullName();
@@ -96,13 +89,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testAccessNameEditPage() {
         AllureUtils.step("Starting test: Access Name Edit Page");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Click name field
         personalInfoPage.clickUserName();
@@ -125,13 +113,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testEditFirstName() {
         AllureUtils.step("Starting test: Edit First Name");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original name
         String originalName = personalInfoPage.getUserFullName();
@@ -170,13 +153,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testEditLastName() {
         AllureUtils.step("Starting test: Edit Last Name");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original name
         String originalFirst = personalInfoPage.getFirstName();
@@ -213,13 +191,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testEditBothNames() {
         AllureUtils.step("Starting test: Edit Both Names");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original name
         String originalFirst = personalInfoPage.getFirstName();
@@ -257,13 +230,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testCancelNameEdit() {
         AllureUtils.step("Starting test: Cancel Name Edit");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original name
         String originalName = personalInfoPage.getUserFullName();
@@ -292,13 +260,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testClearFirstName() {
         AllureUtils.step("Starting test: Clear First Name");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Open edit page and clear first name
         personalInfoPage.clickUserName();
@@ -325,13 +288,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testMultipleNameEdits() {
         AllureUtils.step("Starting test: Multiple Name Edits");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original
         String originalFirst = personalInfoPage.getFirstName();
@@ -371,13 +329,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testEmptyFirstNameValidation() {
         AllureUtils.step("Starting test: Empty First Name Validation");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Open edit page and clear first name
         personalInfoPage.clickUserName();
@@ -409,13 +362,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testEmptyLastNameValidation() {
         AllureUtils.step("Starting test: Empty Last Name Validation");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Open edit page and clear last name
         personalInfoPage.clickUserName();
@@ -447,13 +395,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testBothFieldsEmptyValidation() {
         AllureUtils.step("Starting test: Both Fields Empty Validation");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Open edit page and clear both fields
         personalInfoPage.clickUserName();
@@ -484,13 +427,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testAccessYearPicker() {
         AllureUtils.step("Starting test: Access Year Picker");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Click birthday field
         personalInfoPage.clickBirthdayField();
@@ -510,16 +448,12 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("User selects year, month, and day through the three-step picker process")
     @TmsLink("TC-PI-014")
+    @Checkpoint(BirthdaySetPrecondition.class)
     public void testSelectCompleteBirthday() {
         AllureUtils.step("Starting test: Select Complete Birthday");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original birthday
         String originalBirthday = personalInfoPage.getUserBirthday();
@@ -533,19 +467,24 @@ public class Personal_InformationTest extends BaseTest {
         String month = "6";
         String day = "15";
 
-        personalInfoPage.selectCompleteBirthday(year, month, day);
+        try {
+            personalInfoPage.selectCompleteBirthday(year, month, day);
 
-        // Verify back on personal info page
-        AssertUtils.assertTrue(personalInfoPage.isPersonalInformationPageDisplayed(),
-                "Should return to personal information page");
+            // Verify back on personal info page
+            AssertUtils.assertTrue(personalInfoPage.isPersonalInformationPageDisplayed(),
+                    "Should return to personal information page");
 
-        // Verify birthday changed
-        String updatedBirthday = personalInfoPage.getUserBirthday();
-        AllureUtils.addParameter("Updated Birthday", updatedBirthday);
-        AssertUtils.assertNotEquals(updatedBirthday, originalBirthday,
-                "Birthday should be updated");
+            // Verify birthday changed
+            String updatedBirthday = personalInfoPage.getUserBirthday();
+            AllureUtils.addParameter("Updated Birthday", updatedBirthday);
+            AssertUtils.assertNotEquals(updatedBirthday, originalBirthday,
+                    "Birthday should be updated");
 
-        AllureUtils.step("Test passed: Complete birthday selected successfully");
+            AllureUtils.step("Test passed: Complete birthday selected successfully");
+        } finally {
+            // The birthday is backend state, so put back the precondition's birthday for later tests
+            restore(() -> BirthdaySetPrecondition.ensure(personalInfoPage), "birthday");
+        }
     }
 
 // ==================== TEST 15: CANCEL YEAR SELECTION ====================
@@ -556,16 +495,12 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     @Description("User opens year picker but navigates back without selecting")
     @TmsLink("TC-PI-015")
+    @Checkpoint(BirthdaySetPrecondition.class)
     public void testCancelYearSelection() {
         AllureUtils.step("Starting test: Cancel Year Selection");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original birthday
         String originalBirthday = personalInfoPage.getUserBirthday();
@@ -592,16 +527,12 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     @Description("User selects year, opens month picker but cancels")
     @TmsLink("TC-PI-016")
+    @Checkpoint(BirthdaySetPrecondition.class)
     public void testCancelMonthSelection() {
         AllureUtils.step("Starting test: Cancel Month Selection");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original birthday
         String originalBirthday = personalInfoPage.getUserBirthday();
@@ -633,16 +564,12 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     @Description("User selects year and month, opens day picker but cancels before confirming")
     @TmsLink("TC-PI-017")
+    @Checkpoint(BirthdaySetPrecondition.class)
     public void testCancelDaySelection() {
         AllureUtils.step("Starting test: Cancel Day Selection");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original birthday
         String originalBirthday = personalInfoPage.getUserBirthday();
@@ -682,13 +609,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testMinimumAgeValidation() {
         AllureUtils.step("Starting test: Minimum Age Validation (Cannot be younger than 2007)");
 
-        // Login and navigate
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         String originalBirthday = personalInfoPage.getUserBirthday();
         AllureUtils.addParameter("Original Birthday", originalBirthday);
@@ -720,12 +642,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testAccessGenderPicker() {
         AllureUtils.step("Starting test: Access Gender Picker");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         personalInfoPage.clickGenderField();
 
@@ -746,12 +664,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testSelectMaleGender() {
         AllureUtils.step("Starting test: Select Male Gender");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         String originalGender = personalInfoPage.getUserGender();
         AllureUtils.addParameter("Original Gender", originalGender);
@@ -785,12 +699,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testSelectFemaleGender() {
         AllureUtils.step("Starting test: Select Female Gender");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         String originalGender = personalInfoPage.getUserGender();
         AllureUtils.addParameter("Original Gender", originalGender);
@@ -824,12 +734,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testSelectPreferNotToSayGender() {
         AllureUtils.step("Starting test: Select Prefer Not to Say Gender");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         String originalGender = personalInfoPage.getUserGender();
         AllureUtils.addParameter("Original Gender", originalGender);
@@ -862,12 +768,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testCancelGenderSelection() {
         AllureUtils.step("Starting test: Cancel Gender Selection");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         String originalGender = personalInfoPage.getUserGender();
         AllureUtils.addParameter("Original Gender", originalGender);
@@ -893,12 +795,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testAccessPhotoOptionsModal() {
         AllureUtils.step("Starting test: Access Photo Options Modal");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Click profile picture to edit
         personalInfoPage.clickEditProfilePicture();
@@ -924,12 +822,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testVerifyPhotoOptionsDisplayed() {
         AllureUtils.step("Starting test: Verify All Photo Options Displayed");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         personalInfoPage.clickEditProfilePicture();
 
@@ -958,35 +852,25 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Remove current photo option should only appear when user has a profile photo")
     @TmsLink("TC-PI-026")
+    @Checkpoint(PhotoSetPrecondition.class)
     public void testRemoveOptionAppearsWithPhoto() {
         AllureUtils.step("Starting test: Verify Remove Option When Photo Exists");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Check if user has photo
         boolean hasPhoto = personalInfoPage.hasProfilePhoto();
         AllureUtils.addParameter("User Has Photo", String.valueOf(hasPhoto));
 
-        if (hasPhoto) {
-            // If user has photo, Remove option should be visible
-            personalInfoPage.clickEditProfilePicture();
-            AssertUtils.assertTrue(personalInfoPage.isRemovePhotoOptionDisplayed(),
-                    "Remove photo option should be displayed when user has a photo");
-            personalInfoPage.cancelPhotoEdit();
-            AllureUtils.step("✅ Test passed: Remove option appears when photo exists");
-        } else {
-            // If user has no photo, Remove option should NOT be visible
-            personalInfoPage.clickEditProfilePicture();
-            AssertUtils.assertFalse(personalInfoPage.isRemovePhotoOptionDisplayed(),
-                    "Remove photo option should NOT be displayed when user has no photo");
-            personalInfoPage.cancelPhotoEdit();
-            AllureUtils.step("✅ Test passed: Remove option hidden when no photo exists");
-        }
+        AssertUtils.assertTrue(hasPhoto, "User should start with the precondition's profile photo");
+
+        // User has a photo, so the Remove option should be visible
+        personalInfoPage.clickEditProfilePicture();
+        AssertUtils.assertTrue(personalInfoPage.isRemovePhotoOptionDisplayed(),
+                "Remove photo option should be displayed when user has a photo");
+        personalInfoPage.cancelPhotoEdit();
+        AllureUtils.step("✅ Test passed: Remove option appears when photo exists");
     }
 
 // ==================== TEST 27: CANCEL PHOTO EDIT ====================
@@ -1000,12 +884,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testCancelPhotoEdit() {
         AllureUtils.step("Starting test: Cancel Photo Edit");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store initial state
         String initialsBefore = personalInfoPage.getProfileInitials();
@@ -1038,12 +918,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testVerifyInitialsDisplay() {
         AllureUtils.step("Starting test: Verify Initials Display");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Get displayed initials
         String initials = personalInfoPage.getProfileInitials();
@@ -1075,12 +951,8 @@ public class Personal_InformationTest extends BaseTest {
     public void testInitialsChangeWithName() {
         AllureUtils.step("Starting test: Verify Initials Change With Name");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Store original name and initials
         String originalFirst = personalInfoPage.getFirstName();
@@ -1124,24 +996,18 @@ public class Personal_InformationTest extends BaseTest {
     @Severity(SeverityLevel.BLOCKER)
     @Description("User removes profile photo and initials should be displayed again")
     @TmsLink("TC-PI-030")
+    @Checkpoint(PhotoSetPrecondition.class)
     public void testRemovePhotoInitialsReturn() {
         AllureUtils.step("Starting test: Remove Photo and Verify Initials Return");
 
-        LoginPage loginPage = welcomePage.navigateToLogin();
-        loginPage.loginWithValidCredentials();
-
-        AccountMenuPage accountMenuPage = new AccountMenuPage();
-        accountMenuPage.clickValidUserProfile();
-        Personal_InformationPage personalInfoPage = accountMenuPage.clickPersonalInformation();
+        // Navigate to Personal Information
+        Personal_InformationPage personalInfoPage = Navigator.openPersonalInformation();
 
         // Check if user has a photo
         boolean hasPhoto = personalInfoPage.hasProfilePhoto();
         AllureUtils.addParameter("User Has Photo", String.valueOf(hasPhoto));
 
-        if (!hasPhoto) {
-            AllureUtils.step("⚠️ Test skipped: User does not have a profile photo to remove");
-            return;
-        }
+        AssertUtils.assertTrue(hasPhoto, "User should start with the precondition's profile photo");
 
         // Get expected initials from current name
         String firstName = personalInfoPage.getFirstName();
@@ -1150,23 +1016,39 @@ public class Personal_InformationTest extends BaseTest {
                 lastName.substring(0, 1).toUpperCase();
         AllureUtils.addParameter("Expected Initials", expectedInitials);
 
-        // Remove the photo
-        personalInfoPage.clickEditProfilePicture();
-        personalInfoPage.clickRemovePhoto();
+        try {
+            // Remove the photo
+            personalInfoPage.clickEditProfilePicture();
+            personalInfoPage.clickRemovePhoto();
 
-        // Verify back on personal info page
-        AssertUtils.assertTrue(personalInfoPage.isPersonalInformationPageDisplayed(),
-                "Should return to personal information page after removing photo");
+            // Verify back on personal info page
+            AssertUtils.assertTrue(personalInfoPage.isPersonalInformationPageDisplayed(),
+                    "Should return to personal information page after removing photo");
 
-        // Verify initials are now displayed
-        String displayedInitials = personalInfoPage.getProfileInitials();
-        AllureUtils.addParameter("Displayed Initials", displayedInitials);
+            // Verify initials are now displayed
+            String displayedInitials = personalInfoPage.getProfileInitials();
+            AllureUtils.addParameter("Displayed Initials", displayedInitials);
 
-        AssertUtils.assertFalse(displayedInitials.isEmpty(),
-                "Initials should be displayed after removing photo");
-        AssertUtils.assertEquals(displayedInitials, expectedInitials,
-                "Displayed initials should match first and last name initials");
+            AssertUtils.assertFalse(displayedInitials.isEmpty(),
+                    "Initials should be displayed after removing photo");
+            AssertUtils.assertEquals(displayedInitials, expectedInitials,
+                    "Displayed initials should match first and last name initials");
 
-        AllureUtils.step("✅ Test passed: Initials return correctly after removing photo");
+            AllureUtils.step("✅ Test passed: Initials return correctly after removing photo");
+        } finally {
+            // The photo is backend state, so set it again for later tests
+            restore(() -> PhotoSetPrecondition.ensure(personalInfoPage), "profile photo");
+        }
+    }
+
+    /**
+     * Put back backend state a test changed; a failure is logged so it does not hide the test's own result
+     */
+    private void restore(Runnable restore, String what) {
+        try {
+            restore.run();
+        } catch (Exception e) {
+            LogUtils.warn("Failed to restore " + what + ": " + e.getMessage());
+        }
     }
 }
\ No newline at end of file